@@ -2,6 +2,6 @@ package blog.syua.control;
 
 public enum ControlType {
 
-	REGISTER, UNREGISTER
+	REGISTER, UNREGISTER, UPDATE
 
 }
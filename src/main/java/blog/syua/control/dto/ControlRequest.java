@@ -1,8 +1,10 @@
 package blog.syua.control.dto;
 
 import blog.syua.control.ControlType;
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.node.balancer.StrategyType;
+import blog.syua.node.groupmanager.RegisterOption;
 import blog.syua.node.node.Protocol;
-import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.NoArgsConstructor;
 import lombok.ToString;
@@ -10,11 +12,37 @@ import lombok.ToString;
 @Getter
 @NoArgsConstructor
 @ToString
-@AllArgsConstructor
 public class ControlRequest {
 
 	private ControlType cmd;
 	private Protocol protocol;
 	private int port;
+	private StrategyType strategy;
+	private Integer weight;
+	private Integer capacity;
+	private Boolean hedging;
+	private Integer rateLimit;
+	private Integer rateLimitBurst;
+	private Integer concurrencyLimit;
+	private HealthCheckFormat healthCheckFormat;
+
+	public ControlRequest(ControlType cmd, Protocol protocol, int port) {
+		this.cmd = cmd;
+		this.protocol = protocol;
+		this.port = port;
+	}
+
+	public RegisterOption toRegisterOption() {
+		return RegisterOption.builder()
+			.strategyType(strategy)
+			.weight(weight)
+			.capacity(capacity)
+			.hedging(hedging)
+			.rateLimit(rateLimit)
+			.rateLimitBurst(rateLimitBurst)
+			.concurrencyLimit(concurrencyLimit)
+			.healthCheckFormat(healthCheckFormat)
+			.build();
+	}
 
 }
@@ -40,7 +40,8 @@ public class RegisterControlRequestHandler extends ControlRequestHandler {
 			return new ControlFailResponse(FAIL_MSG);
 		}
 		try {
-			nodeGroupManager.registerNode(controlRequest.getProtocol(), ipAddr, controlRequest.getPort());
+			nodeGroupManager.registerNode(controlRequest.getProtocol(), ipAddr, controlRequest.getPort(),
+				controlRequest.toRegisterOption());
 			log.info("Success Registeration - {} {}", ipAddr, controlRequest);
 			return new ControlSuccessResponse();
 		} catch (Exception e) {
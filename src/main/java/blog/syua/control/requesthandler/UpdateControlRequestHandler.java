@@ -0,0 +1,54 @@
+package blog.syua.control.requesthandler;
+
+import java.net.InetAddress;
+
+import org.springframework.stereotype.Component;
+
+import blog.syua.control.ControlType;
+import blog.syua.control.dispatcher.ControlRequestDispatcher;
+import blog.syua.control.dto.ControlFailResponse;
+import blog.syua.control.dto.ControlRequest;
+import blog.syua.control.dto.ControlResponse;
+import blog.syua.control.dto.ControlSuccessResponse;
+import blog.syua.node.groupmanager.NodeGroupManager;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Component
+public class UpdateControlRequestHandler extends ControlRequestHandler {
+
+	private static final String FAIL_MSG = "Update Failed";
+
+	private final NodeGroupManager nodeGroupManager;
+
+	public UpdateControlRequestHandler(ControlRequestDispatcher controlRequestDispatcher,
+		NodeGroupManager nodeGroupManager) {
+		super(controlRequestDispatcher);
+		this.nodeGroupManager = nodeGroupManager;
+	}
+
+	@Override
+	public ControlType getHandleType() {
+		return ControlType.UPDATE;
+	}
+
+	@Override
+	public ControlResponse handleRequest(ControlRequest controlRequest, InetAddress ipAddr) {
+		log.info("Start Update Request - {}", ipAddr);
+		if (!controlRequest.getCmd().equals(ControlType.UPDATE)) {
+			log.info("It's not a Update request - {}", controlRequest);
+			return new ControlFailResponse(FAIL_MSG);
+		}
+		try {
+			nodeGroupManager.updateNode(controlRequest.getProtocol(), ipAddr, controlRequest.getPort(),
+				controlRequest.toRegisterOption());
+			log.info("Success Update - {} {}", ipAddr, controlRequest);
+			return new ControlSuccessResponse();
+		} catch (Exception e) {
+			log.info("Error occur in handleRequest - {}", controlRequest);
+			e.printStackTrace();
+		}
+		return new ControlFailResponse(FAIL_MSG);
+	}
+
+}
@@ -11,6 +11,8 @@ import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import blog.syua.healthcheck.probe.HealthProbe;
+import blog.syua.healthcheck.probe.HealthProbeEngine;
 import blog.syua.node.groupmanager.NodeGroupManager;
 import blog.syua.node.node.Node;
 import lombok.extern.slf4j.Slf4j;
@@ -22,6 +24,8 @@ public class HealthCheckerImpl implements HealthChecker {
 	private final NodeGroupManager nodeGroupManager;
 	private final ScheduledExecutorService scheduledThreadPool;
 	private final ConcurrentHashMap<Node, ScheduledFuture<?>> scheduledFutures;
+	private final ConcurrentHashMap<Node, HealthProbe> healthProbes;
+	private final HealthProbeEngine healthProbeEngine;
 
 	@Value("${loadbalancer.healthcheck.thread-num:4}")
 	private final int healthCheckThreadNum = Runtime.getRuntime().availableProcessors();
@@ -29,20 +33,35 @@ public class HealthCheckerImpl implements HealthChecker {
 	@Value("${loadbalancer.healthcheck.delay:3000}")
 	private final int healthCheckDelay = 3000;
 
-	@Autowired
 	public HealthCheckerImpl(NodeGroupManager nodeGroupManager) {
+		this(nodeGroupManager, false);
+	}
+
+	@Autowired
+	public HealthCheckerImpl(NodeGroupManager nodeGroupManager,
+		@Value("${loadbalancer.healthcheck.async-probe:false}") boolean asyncProbe) {
+		this(nodeGroupManager, asyncProbe ? HealthProbeEngine.newInstance() : null);
+	}
+
+	public HealthCheckerImpl(NodeGroupManager nodeGroupManager, HealthProbeEngine healthProbeEngine) {
 		this.nodeGroupManager = nodeGroupManager;
 		nodeGroupManager.registerListener(this);
 		scheduledThreadPool = Executors.newScheduledThreadPool(healthCheckThreadNum);
 		scheduledFutures = new ConcurrentHashMap<>();
+		healthProbes = new ConcurrentHashMap<>();
+		this.healthProbeEngine = healthProbeEngine;
 	}
 
 	@Override
 	public void onRegisterNode(Node node) {
-		if (Objects.nonNull(scheduledFutures.get(node))) {
+		if (Objects.nonNull(scheduledFutures.get(node)) || healthProbes.containsKey(node)) {
 			log.info("Already undergoing health check - {}", node);
 			throw new IllegalArgumentException("Node already exists");
 		}
+		if (Objects.nonNull(healthProbeEngine)) {
+			healthProbes.put(node, healthProbeEngine.start(node, healthCheckDelay, this::onUnHealthyProbe));
+			return;
+		}
 		ScheduledFuture<?> scheduledFuture = scheduledThreadPool.scheduleWithFixedDelay(() -> checkNodeHealthy(node),
 			healthCheckDelay, healthCheckDelay, TimeUnit.MILLISECONDS);
 		scheduledFutures.put(node, scheduledFuture);
@@ -54,6 +73,19 @@ public class HealthCheckerImpl implements HealthChecker {
 			log.info("Remove Task of Node-{} Health Check", node);
 			removeScheduledHealthCheckTask(node);
 		}
+		HealthProbe healthProbe = healthProbes.remove(node);
+		if (Objects.nonNull(healthProbe)) {
+			log.info("Remove Probe of Node-{} Health Check", node);
+			healthProbe.cancel();
+		}
+	}
+
+	private void onUnHealthyProbe(Node node) {
+		scheduledThreadPool.execute(() -> {
+			log.info("Remove Probe of Node-{} Health Check", node);
+			healthProbes.remove(node);
+			unRegisterUnHealthyNode(node);
+		});
 	}
 
 	private void checkNodeHealthy(Node node) {
@@ -0,0 +1,5 @@
+package blog.syua.healthcheck.heartbeat;
+
+public enum HealthCheckFormat {
+	JSON, BINARY
+}
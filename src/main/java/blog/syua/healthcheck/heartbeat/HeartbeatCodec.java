@@ -0,0 +1,71 @@
+package blog.syua.healthcheck.heartbeat;
+
+import java.nio.ByteBuffer;
+
+/**
+ * Fixed-size binary heartbeat used instead of the JSON health check by nodes that register with
+ * the BINARY format. Every message is 16 big-endian bytes:
+ * magic (4), sequence (4), status (1), flags (1), reserved (2), load (4).
+ * The load is only meaningful when the HAS_LOAD flag is set. A reply must echo the sequence of the
+ * request it answers. Messages are read and written in place, without reflection or allocation.
+ */
+public class HeartbeatCodec {
+
+	public static final int MESSAGE_SIZE = 16;
+	public static final int MAGIC = 0x4C424842;
+	public static final byte STATUS_REQUEST = 0;
+	public static final byte STATUS_HEALTHY = 1;
+	public static final byte STATUS_UNHEALTHY = 2;
+	public static final int NO_LOAD = -1;
+
+	private static final byte FLAG_HAS_LOAD = 1;
+	private static final int SEQUENCE_OFFSET = 4;
+	private static final int STATUS_OFFSET = 8;
+	private static final int FLAGS_OFFSET = 9;
+	private static final int LOAD_OFFSET = 12;
+
+	private HeartbeatCodec() {
+	}
+
+	public static void encodeRequest(ByteBuffer buffer, int sequence) {
+		encode(buffer, sequence, STATUS_REQUEST, NO_LOAD);
+	}
+
+	/**
+	 * Writes one message at the buffer's position and advances it. A negative load is sent as absent.
+	 */
+	public static void encode(ByteBuffer buffer, int sequence, byte status, int load) {
+		buffer.putInt(MAGIC)
+			.putInt(sequence)
+			.put(status)
+			.put(load < 0 ? 0 : FLAG_HAS_LOAD)
+			.putShort((short)0)
+			.putInt(Math.max(0, load));
+	}
+
+	public static boolean isHeartbeat(ByteBuffer buffer, int offset, int length) {
+		return length >= MESSAGE_SIZE && buffer.getInt(offset) == MAGIC;
+	}
+
+	public static int getSequence(ByteBuffer buffer, int offset) {
+		return buffer.getInt(offset + SEQUENCE_OFFSET);
+	}
+
+	public static byte getStatus(ByteBuffer buffer, int offset) {
+		return buffer.get(offset + STATUS_OFFSET);
+	}
+
+	public static int getLoad(ByteBuffer buffer, int offset) {
+		if ((buffer.get(offset + FLAGS_OFFSET) & FLAG_HAS_LOAD) == 0) {
+			return NO_LOAD;
+		}
+		return buffer.getInt(offset + LOAD_OFFSET);
+	}
+
+	public static boolean isHealthyReply(ByteBuffer buffer, int offset, int length, int sequence) {
+		return isHeartbeat(buffer, offset, length)
+			&& getSequence(buffer, offset) == sequence
+			&& getStatus(buffer, offset) == STATUS_HEALTHY;
+	}
+
+}
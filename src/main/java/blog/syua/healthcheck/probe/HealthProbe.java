@@ -0,0 +1,271 @@
+package blog.syua.healthcheck.probe;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.io.JsonEOFException;
+
+import blog.syua.healthcheck.dto.HealthCheckResponse;
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.healthcheck.heartbeat.HeartbeatCodec;
+import blog.syua.healthcheck.probe.HealthProbeEngine.ProbeWorker;
+import blog.syua.node.group.nio.NioHandler;
+import blog.syua.node.node.Node;
+import blog.syua.node.node.Protocol;
+import blog.syua.utils.ObjectMapperUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Periodic health check of one node. Each round opens a non-blocking channel to the node's health
+ * check port, sends the request and waits for one reply or the timeout, whichever comes first.
+ * A TCP reply may arrive over several reads, so it is collected until it is complete, the node
+ * closes the connection or the timeout fires.
+ * Nodes using the binary heartbeat reuse one preallocated message buffer for every round.
+ * Everything except cancel runs on the owning event loop.
+ */
+@Slf4j
+public class HealthProbe implements NioHandler {
+
+	private static final int RESPONSE_BUFFER_SIZE = 256;
+	private static final int MAX_RESPONSE_SIZE = Protocol.TCP.getMaxReceiveSize();
+
+	private final Node node;
+	private final long interval;
+	private final long timeout;
+	private final ProbeWorker worker;
+	private final Consumer<Node> unHealthyCallback;
+	private final ByteBuffer heartbeatBuffer;
+	private volatile boolean isCancelled;
+	private SelectableChannel channel;
+	private SelectionKey key;
+	private ByteBuffer requestBuffer;
+	private ByteBuffer responseBuffer;
+	private boolean isBinary;
+	private int sequence;
+	private TimerWheel.Timeout timeoutTimer;
+
+	HealthProbe(Node node, long interval, long timeout, ProbeWorker worker, Consumer<Node> unHealthyCallback) {
+		this.node = node;
+		this.interval = interval;
+		this.timeout = timeout;
+		this.worker = worker;
+		this.unHealthyCallback = unHealthyCallback;
+		heartbeatBuffer = ByteBuffer.allocate(HeartbeatCodec.MESSAGE_SIZE);
+		responseBuffer = ByteBuffer.allocate(RESPONSE_BUFFER_SIZE);
+		isCancelled = false;
+	}
+
+	public Node getNode() {
+		return node;
+	}
+
+	public void cancel() {
+		isCancelled = true;
+		worker.getEventLoop().execute(this::close);
+	}
+
+	/**
+	 * The first round is spread over one extra interval so that nodes registered together are not
+	 * probed in the same tick forever after.
+	 */
+	void start() {
+		worker.getTimerWheel().schedule(this::send, interval + ThreadLocalRandom.current().nextLong(interval));
+	}
+
+	private void send() {
+		if (isCancelled) {
+			return;
+		}
+		log.debug("Start Health Probe - {}", node);
+		InetSocketAddress healthCheckAddress = new InetSocketAddress(node.getIpAddr(), node.getHealthCheckPort());
+		isBinary = node.getHealthCheckFormat() == HealthCheckFormat.BINARY;
+		requestBuffer = isBinary ? newHeartbeatRequest() : worker.newRequestBuffer();
+		responseBuffer.clear();
+		timeoutTimer = worker.getTimerWheel().schedule(this::handleTimeout, timeout);
+		try {
+			if (node.getProtocol().equals(Protocol.TCP)) {
+				SocketChannel socketChannel = SocketChannel.open();
+				channel = socketChannel;
+				socketChannel.configureBlocking(false);
+				boolean isConnected = socketChannel.connect(healthCheckAddress);
+				key = worker.getEventLoop().registerNow(socketChannel,
+					isConnected ? SelectionKey.OP_WRITE : SelectionKey.OP_CONNECT, this);
+				return;
+			}
+			DatagramChannel datagramChannel = DatagramChannel.open();
+			channel = datagramChannel;
+			datagramChannel.configureBlocking(false);
+			key = worker.getEventLoop().registerNow(datagramChannel, SelectionKey.OP_WRITE, this);
+		} catch (IOException exception) {
+			handleError(exception);
+		}
+	}
+
+	@Override
+	public void handle(SelectionKey key) throws IOException {
+		if (key.isConnectable()) {
+			if (((SocketChannel)channel).finishConnect()) {
+				key.interestOps(SelectionKey.OP_WRITE);
+			}
+			return;
+		}
+		if (key.isWritable()) {
+			write();
+			if (!requestBuffer.hasRemaining()) {
+				key.interestOps(SelectionKey.OP_READ);
+			}
+			return;
+		}
+		if (key.isReadable()) {
+			if (channel instanceof DatagramChannel) {
+				receive();
+				return;
+			}
+			read();
+		}
+	}
+
+	/**
+	 * The UDP probe is not connected, so like the blocking check it accepts a reply sent from any
+	 * address of the node.
+	 */
+	private void write() throws IOException {
+		if (channel instanceof DatagramChannel) {
+			((DatagramChannel)channel).send(requestBuffer,
+				new InetSocketAddress(node.getIpAddr(), node.getHealthCheckPort()));
+			return;
+		}
+		((SocketChannel)channel).write(requestBuffer);
+	}
+
+	private void receive() throws IOException {
+		ByteBuffer readBuffer = worker.getReadBuffer();
+		if (((DatagramChannel)channel).receive(readBuffer) != null) {
+			complete(isSuccessResponse(readBuffer, readBuffer.position()));
+		}
+	}
+
+	private void read() throws IOException {
+		int readSize = ((SocketChannel)channel).read(getResponseBuffer());
+		if (readSize == 0) {
+			return;
+		}
+		int length = responseBuffer.position();
+		if (readSize < 0 || length == MAX_RESPONSE_SIZE || isCompleteResponse(length)) {
+			complete(length > 0 && isSuccessResponse(responseBuffer, length));
+		}
+	}
+
+	private ByteBuffer getResponseBuffer() {
+		if (!responseBuffer.hasRemaining()) {
+			ByteBuffer newBuffer = ByteBuffer.allocate(Math.min(responseBuffer.capacity() * 2, MAX_RESPONSE_SIZE));
+			responseBuffer = newBuffer.put(responseBuffer.flip());
+		}
+		return responseBuffer;
+	}
+
+	/**
+	 * A heartbeat reply has a fixed size. A JSON reply has none, so it is complete once it holds a
+	 * whole JSON value; a malformed reply counts as complete and is rejected by the parser.
+	 */
+	private boolean isCompleteResponse(int length) {
+		if (isBinary) {
+			return length >= HeartbeatCodec.MESSAGE_SIZE;
+		}
+		try (JsonParser parser = ObjectMapperUtils.getObjectMapper().getFactory()
+			.createParser(responseBuffer.array(), 0, length)) {
+			if (parser.nextToken() == null) {
+				return false;
+			}
+			parser.skipChildren();
+			return true;
+		} catch (JsonEOFException exception) {
+			return false;
+		} catch (IOException exception) {
+			return true;
+		}
+	}
+
+	@Override
+	public void handleError(Exception exception) {
+		log.info("Health Probe failed - Node Info: {} {} {} ({})",
+			node.getProtocol(), node.getIpAddr(), node.getPort(), exception.getMessage());
+		complete(false);
+	}
+
+	@Override
+	public void close() {
+		if (timeoutTimer != null) {
+			timeoutTimer.cancel();
+			timeoutTimer = null;
+		}
+		if (key != null) {
+			key.cancel();
+			key = null;
+		}
+		if (channel != null) {
+			try {
+				channel.close();
+			} catch (IOException exception) {
+				log.error("Error occur in closing health probe channel - {}", node);
+			}
+			channel = null;
+		}
+	}
+
+	private ByteBuffer newHeartbeatRequest() {
+		sequence = node.nextHeartbeatSequence();
+		heartbeatBuffer.clear();
+		HeartbeatCodec.encodeRequest(heartbeatBuffer, sequence);
+		return heartbeatBuffer.flip();
+	}
+
+	private boolean isSuccessResponse(ByteBuffer readBuffer, int length) {
+		if (isBinary) {
+			return HeartbeatCodec.isHealthyReply(readBuffer, 0, length, sequence);
+		}
+		try {
+			HealthCheckResponse response = ObjectMapperUtils.getObjectMapper().readValue(readBuffer.array(), 0,
+				length, HealthCheckResponse.class);
+			return response.getAck().equals(HealthCheckResponse.SUCCESS_ACK);
+		} catch (JsonProcessingException exception) {
+			log.info("Json Parsing Error in Health Check - Node Info: {} {} {}",
+				node.getProtocol(), node.getIpAddr(), node.getPort());
+		} catch (IOException exception) {
+			log.error("Error occur in reading health check response - {}", node);
+		}
+		return false;
+	}
+
+	private void handleTimeout() {
+		log.info("Receive time out - Node Info: {} {} {}", node.getProtocol(), node.getIpAddr(), node.getPort());
+		timeoutTimer = null;
+		complete(false);
+	}
+
+	private void complete(boolean isHealthy) {
+		if (channel == null && timeoutTimer == null) {
+			return;
+		}
+		close();
+		if (isCancelled) {
+			return;
+		}
+		if (isHealthy) {
+			worker.getTimerWheel().schedule(this::send, interval);
+			return;
+		}
+		isCancelled = true;
+		unHealthyCallback.accept(node);
+	}
+
+}
@@ -0,0 +1,139 @@
+package blog.syua.healthcheck.probe;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import blog.syua.healthcheck.dto.HealthCheckRequest;
+import blog.syua.node.group.nio.NioEventLoop;
+import blog.syua.node.node.Node;
+import blog.syua.node.node.Protocol;
+import blog.syua.utils.ObjectMapperUtils;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Runs health probes for many nodes on a few selector threads instead of one blocking task per node.
+ * Every probe is sent asynchronously; its reply timeout and the next probe are timers on the
+ * wheel of the event loop that owns the node, so a dead host never holds up the others.
+ */
+@Slf4j
+public class HealthProbeEngine implements Closeable {
+
+	private static final long TICK_DURATION = 10;
+	private static final int WHEEL_SIZE = 1024;
+	private static final int DEFAULT_PROBE_LOOP_SIZE = 1;
+	private static final long DEFAULT_PROBE_TIMEOUT = 5000;
+
+	private final long probeTimeout;
+	private final ProbeWorker[] workers;
+	private final AtomicInteger nextIndex;
+
+	private HealthProbeEngine(int probeLoopSize, long probeTimeout) throws IOException {
+		this.probeTimeout = probeTimeout;
+		byte[] requestMessage = newRequestMessage();
+		workers = new ProbeWorker[probeLoopSize];
+		try {
+			for (int index = 0; index < probeLoopSize; index++) {
+				workers[index] = new ProbeWorker(new NioEventLoop("health-probe-" + index), requestMessage);
+				workers[index].start();
+			}
+		} catch (IOException exception) {
+			close();
+			throw exception;
+		}
+		nextIndex = new AtomicInteger();
+	}
+
+	public static HealthProbeEngine newInstance() {
+		return newInstance(DEFAULT_PROBE_LOOP_SIZE, DEFAULT_PROBE_TIMEOUT);
+	}
+
+	public static HealthProbeEngine newInstance(int probeLoopSize, long probeTimeout) {
+		if (probeLoopSize < 1 || probeTimeout <= 0) {
+			throw new IllegalArgumentException("Probe loop size and timeout must be positive");
+		}
+		try {
+			return new HealthProbeEngine(probeLoopSize, probeTimeout);
+		} catch (IOException exception) {
+			throw new IllegalStateException("Unable to open health probe engine", exception);
+		}
+	}
+
+	/**
+	 * Probes the node every interval until it is cancelled or found unhealthy. An unhealthy node is
+	 * handed to the callback once, on the probe thread, and is not probed again.
+	 */
+	public HealthProbe start(Node node, long interval, Consumer<Node> unHealthyCallback) {
+		ProbeWorker worker = workers[Math.floorMod(nextIndex.getAndIncrement(), workers.length)];
+		HealthProbe healthProbe = new HealthProbe(node, interval, probeTimeout, worker, unHealthyCallback);
+		worker.getEventLoop().execute(healthProbe::start);
+		return healthProbe;
+	}
+
+	@Override
+	public void close() {
+		for (ProbeWorker worker : workers) {
+			if (worker != null) {
+				worker.getEventLoop().close();
+			}
+		}
+		log.info("Close HealthProbeEngine - size: {}", workers.length);
+	}
+
+	private static byte[] newRequestMessage() {
+		try {
+			return ObjectMapperUtils.getObjectMapper().writeValueAsBytes(HealthCheckRequest.getInstance());
+		} catch (JsonProcessingException exception) {
+			throw new IllegalStateException("Unable to encode health check request", exception);
+		}
+	}
+
+	/**
+	 * State shared by the probes of one event loop. Only touched from that loop's thread.
+	 */
+	static class ProbeWorker {
+
+		private final NioEventLoop eventLoop;
+		private final TimerWheel timerWheel;
+		private final byte[] requestMessage;
+		private final ByteBuffer readBuffer;
+
+		private ProbeWorker(NioEventLoop eventLoop, byte[] requestMessage) {
+			this.eventLoop = eventLoop;
+			this.requestMessage = requestMessage;
+			timerWheel = new TimerWheel(TICK_DURATION, WHEEL_SIZE);
+			readBuffer = ByteBuffer.allocate(Protocol.UDP.getMaxReceiveSize());
+		}
+
+		private void start() {
+			eventLoop.schedule(this::tick, TICK_DURATION);
+		}
+
+		private void tick() {
+			eventLoop.schedule(this::tick, TICK_DURATION);
+			timerWheel.advance();
+		}
+
+		NioEventLoop getEventLoop() {
+			return eventLoop;
+		}
+
+		TimerWheel getTimerWheel() {
+			return timerWheel;
+		}
+
+		ByteBuffer newRequestBuffer() {
+			return ByteBuffer.wrap(requestMessage);
+		}
+
+		ByteBuffer getReadBuffer() {
+			readBuffer.clear();
+			return readBuffer;
+		}
+
+	}
+
+}
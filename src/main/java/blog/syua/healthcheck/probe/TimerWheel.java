@@ -0,0 +1,98 @@
+package blog.syua.healthcheck.probe;
+
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hashed timer wheel driven by a single thread. Scheduling and cancelling are O(1), and each tick
+ * only looks at one slot, so tens of thousands of probe timers cost little more than a handful.
+ * Timers fire on the first tick at or after their deadline, i.e. with up to one tick of delay.
+ * Time is read from the monotonic clock, so wall clock adjustments neither fire nor stall timers.
+ */
+public class TimerWheel {
+
+	private final long tickDuration;
+	private final Queue<Timeout>[] slots;
+	private final int mask;
+	private final long startedAt;
+	private long currentTick;
+
+	@SuppressWarnings("unchecked")
+	public TimerWheel(long tickDuration, int slotCount) {
+		if (Integer.bitCount(slotCount) != 1) {
+			throw new IllegalArgumentException("Slot count must be a power of two");
+		}
+		this.tickDuration = tickDuration;
+		slots = new Queue[slotCount];
+		for (int index = 0; index < slotCount; index++) {
+			slots[index] = new ArrayDeque<>();
+		}
+		mask = slotCount - 1;
+		startedAt = System.nanoTime();
+		currentTick = 0;
+	}
+
+	public long getTickDuration() {
+		return tickDuration;
+	}
+
+	public Timeout schedule(Runnable task, long delayMillis) {
+		long elapsed = getElapsedMillis() + Math.max(0, delayMillis);
+		long deadlineTick = Math.max(currentTick + 1, (elapsed + tickDuration - 1) / tickDuration);
+		Timeout timeout = new Timeout(task, deadlineTick);
+		slots[(int)(deadlineTick & mask)].offer(timeout);
+		return timeout;
+	}
+
+	/**
+	 * Fires every timer whose deadline has passed. Timers scheduled by a firing task land in a
+	 * later tick and are not run in the same call.
+	 */
+	public void advance() {
+		long targetTick = getElapsedMillis() / tickDuration;
+		while (currentTick < targetTick) {
+			currentTick++;
+			Queue<Timeout> slot = slots[(int)(currentTick & mask)];
+			int count = slot.size();
+			for (int index = 0; index < count; index++) {
+				Timeout timeout = slot.poll();
+				if (timeout.isCancelled) {
+					continue;
+				}
+				if (timeout.deadlineTick > currentTick) {
+					slot.offer(timeout);
+					continue;
+				}
+				timeout.task.run();
+			}
+		}
+	}
+
+	private long getElapsedMillis() {
+		return TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+	}
+
+	public static class Timeout {
+
+		private final Runnable task;
+		private final long deadlineTick;
+		private boolean isCancelled;
+
+		private Timeout(Runnable task, long deadlineTick) {
+			this.task = task;
+			this.deadlineTick = deadlineTick;
+			isCancelled = false;
+		}
+
+		public void cancel() {
+			isCancelled = true;
+		}
+
+		public boolean isCancelled() {
+			return isCancelled;
+		}
+
+	}
+
+}
@@ -0,0 +1,53 @@
+package blog.syua.node.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Picks the node with the fewest in-flight requests. Ties are broken uniformly at random
+ * so that idle nodes are not all hit by the same burst in snapshot order.
+ * Unavailable and slow-starting nodes take part only when they are admitted for this selection.
+ */
+public class LeastOutstandingStrategy implements LoadBalancingStrategy {
+
+	@Override
+	public StrategyType getType() {
+		return StrategyType.LEAST_OUTSTANDING;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes) {
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException("No node to select");
+		}
+		T selectedNode = selectLeastOutstanding(nodes, true);
+		if (selectedNode == null) {
+			return selectLeastOutstanding(nodes, false);
+		}
+		return selectedNode;
+	}
+
+	private <T extends Node> T selectLeastOutstanding(List<T> nodes, boolean isAdmissionApplied) {
+		T selectedNode = null;
+		long minInFlightCount = Long.MAX_VALUE;
+		int tieCount = 0;
+		for (T node : nodes) {
+			if (isAdmissionApplied && !NodeAdmission.isAdmitted(node)) {
+				continue;
+			}
+			long inFlightCount = node.getInFlightCount();
+			if (inFlightCount < minInFlightCount) {
+				selectedNode = node;
+				minInFlightCount = inFlightCount;
+				tieCount = 1;
+			} else if (inFlightCount == minInFlightCount
+				&& ThreadLocalRandom.current().nextInt(++tieCount) == 0) {
+				selectedNode = node;
+			}
+		}
+		return selectedNode;
+	}
+
+}
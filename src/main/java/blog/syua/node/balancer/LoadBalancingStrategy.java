@@ -0,0 +1,58 @@
+package blog.syua.node.balancer;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Collectors;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Selects the node for a new request from an immutable snapshot of the group's nodes.
+ * One instance belongs to one group and may be called concurrently by all of its workers.
+ */
+public interface LoadBalancingStrategy {
+
+	static LoadBalancingStrategy newInstance(StrategyType strategyType) {
+		if (strategyType.equals(StrategyType.ROUND_ROBIN)) {
+			return new RoundRobinStrategy();
+		}
+		if (strategyType.equals(StrategyType.LEAST_OUTSTANDING)) {
+			return new LeastOutstandingStrategy();
+		}
+		if (strategyType.equals(StrategyType.SMOOTH_WEIGHTED_ROUND_ROBIN)) {
+			return new SmoothWeightedRoundRobinStrategy();
+		}
+		if (strategyType.equals(StrategyType.POWER_OF_TWO_CHOICES)) {
+			return new PowerOfTwoChoicesStrategy();
+		}
+		if (strategyType.equals(StrategyType.MAGLEV_HASH)) {
+			return new MaglevHashStrategy();
+		}
+		throw new IllegalArgumentException("Unable to create LoadBalancingStrategy");
+	}
+
+	StrategyType getType();
+
+	<T extends Node> T select(List<T> nodes);
+
+	/**
+	 * Selects a node for the given client. Strategies that are not client-affine ignore the address.
+	 * TCP groups pass port 0 so that every connection of a client maps to the same key.
+	 */
+	default <T extends Node> T select(List<T> nodes, InetSocketAddress clientAddress) {
+		return select(nodes);
+	}
+
+	/**
+	 * Selects a node for a retry, never returning one of the excluded nodes. Strategies that keep
+	 * state per snapshot override this so that the filtered list does not replace their snapshot.
+	 */
+	default <T extends Node> T select(List<T> nodes, InetSocketAddress clientAddress,
+		Collection<? extends Node> excludedNodes) {
+		return select(nodes.stream()
+			.filter(node -> !excludedNodes.contains(node))
+			.collect(Collectors.toUnmodifiableList()), clientAddress);
+	}
+
+}
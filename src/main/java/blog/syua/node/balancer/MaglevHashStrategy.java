@@ -0,0 +1,206 @@
+package blog.syua.node.balancer;
+
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.stream.IntStream;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Maglev consistent hashing on the client address. Every node fills the lookup table along its own
+ * permutation of the slots, so a lookup is a single array access and a membership change only moves
+ * about 1/N of the clients. The table is rebuilt when the group swaps in a new node snapshot,
+ * reusing the permutations of nodes that stay registered.
+ * Clients of an unavailable node (ejected or with an open circuit) are hashed again onto another slot
+ * until the node is back. While a node is in its slow-start window, only the clients whose own ramp
+ * position is below the node's ramp factor stay on it; the others are rehashed the same way.
+ */
+public class MaglevHashStrategy implements LoadBalancingStrategy {
+
+	static final int TABLE_SIZE = 65537;
+	private static final long OFFSET_SEED = 0x9E3779B97F4A7C15L;
+	private static final long SKIP_SEED = 0xC2B2AE3D27D4EB4FL;
+	private static final long CLIENT_SEED = 0x165667B19E3779F9L;
+	private static final long RAMP_SEED = 0x27D4EB2F165667C5L;
+	private static final int MAX_PROBE_COUNT = 16;
+
+	private final Map<Node, Permutation> permutations;
+	private volatile LookupTable lookupTable;
+
+	public MaglevHashStrategy() {
+		permutations = new HashMap<>();
+		lookupTable = new LookupTable(List.of(), new int[0]);
+	}
+
+	@Override
+	public StrategyType getType() {
+		return StrategyType.MAGLEV_HASH;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes) {
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException("No node to select");
+		}
+		int[] entries = getLookupTable(nodes).entries;
+		T selectedNode = nodes.get(entries[ThreadLocalRandom.current().nextInt(TABLE_SIZE)]);
+		for (int attempt = 1; attempt < MAX_PROBE_COUNT && !NodeAdmission.isAdmitted(selectedNode); attempt++) {
+			selectedNode = nodes.get(entries[ThreadLocalRandom.current().nextInt(TABLE_SIZE)]);
+		}
+		return selectedNode;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes, InetSocketAddress clientAddress) {
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException("No node to select");
+		}
+		int[] entries = getLookupTable(nodes).entries;
+		T selectedNode = nodes.get(entries[getSlot(clientAddress, 0)]);
+		double rampPosition = -1;
+		for (int attempt = 1; attempt < MAX_PROBE_COUNT; attempt++) {
+			if (selectedNode.isAvailable()) {
+				double factor = selectedNode.getSlowStartFactor();
+				if (factor >= 1) {
+					break;
+				}
+				if (rampPosition < 0) {
+					rampPosition = (hash(clientAddress, RAMP_SEED) >>> 11) * 0x1.0p-53;
+				}
+				if (rampPosition < factor) {
+					break;
+				}
+			}
+			selectedNode = nodes.get(entries[getSlot(clientAddress, attempt)]);
+		}
+		return selectedNode;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes, InetSocketAddress clientAddress,
+		Collection<? extends Node> excludedNodes) {
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException("No node to select");
+		}
+		if (excludedNodes.isEmpty()) {
+			return select(nodes, clientAddress);
+		}
+		int[] entries = getLookupTable(nodes).entries;
+		for (int attempt = 0; attempt < MAX_PROBE_COUNT; attempt++) {
+			T node = nodes.get(entries[getSlot(clientAddress, attempt)]);
+			if (!excludedNodes.contains(node) && node.isAvailable()) {
+				return node;
+			}
+		}
+		return nodes.stream()
+			.filter(node -> !excludedNodes.contains(node))
+			.findFirst()
+			.orElseThrow(() -> new IllegalStateException("No node to select"));
+	}
+
+	private int getSlot(InetSocketAddress clientAddress, int attempt) {
+		return (int)Long.remainderUnsigned(hash(clientAddress, CLIENT_SEED + attempt), TABLE_SIZE);
+	}
+
+	private LookupTable getLookupTable(List<? extends Node> nodes) {
+		LookupTable table = lookupTable;
+		if (table.nodes == nodes) {
+			return table;
+		}
+		synchronized (this) {
+			if (lookupTable.nodes != nodes) {
+				lookupTable = new LookupTable(nodes, populate(nodes));
+			}
+			return lookupTable;
+		}
+	}
+
+	private int[] populate(List<? extends Node> nodes) {
+		permutations.keySet().retainAll(nodes);
+		nodes.forEach(node -> permutations.computeIfAbsent(node, Permutation::new));
+		int[] order = IntStream.range(0, nodes.size())
+			.boxed()
+			.sorted(Comparator.comparing(index -> permutations.get(nodes.get(index))))
+			.mapToInt(Integer::intValue)
+			.toArray();
+		int[] entries = new int[TABLE_SIZE];
+		Arrays.fill(entries, -1);
+		long[] next = new long[order.length];
+		int filledCount = 0;
+		while (true) {
+			for (int turn = 0; turn < order.length; turn++) {
+				Permutation permutation = permutations.get(nodes.get(order[turn]));
+				int slot = permutation.getSlot(next[turn]++);
+				while (entries[slot] >= 0) {
+					slot = permutation.getSlot(next[turn]++);
+				}
+				entries[slot] = order[turn];
+				if (++filledCount == TABLE_SIZE) {
+					return entries;
+				}
+			}
+		}
+	}
+
+	private static long hash(InetSocketAddress address, long seed) {
+		byte[] ipAddr = address.getAddress().getAddress();
+		return hash(ByteBuffer.allocate(ipAddr.length + Integer.BYTES).put(ipAddr).putInt(address.getPort()).array(),
+			seed);
+	}
+
+	private static long hash(byte[] bytes, long seed) {
+		long hash = seed;
+		for (byte data : bytes) {
+			hash = (hash ^ (data & 0xff)) * 0x100000001B3L;
+		}
+		hash ^= hash >>> 33;
+		hash *= 0xFF51AFD7ED558CCDL;
+		hash ^= hash >>> 33;
+		hash *= 0xC4CEB9FE1A85EC53L;
+		return hash ^ (hash >>> 33);
+	}
+
+	private static class LookupTable {
+
+		private final List<? extends Node> nodes;
+		private final int[] entries;
+
+		private LookupTable(List<? extends Node> nodes, int[] entries) {
+			this.nodes = nodes;
+			this.entries = entries;
+		}
+
+	}
+
+	private static class Permutation implements Comparable<Permutation> {
+
+		private final String key;
+		private final long offset;
+		private final long skip;
+
+		private Permutation(Node node) {
+			InetSocketAddress address = new InetSocketAddress(node.getIpAddr(), node.getPort());
+			key = node.getIpAddr().getHostAddress() + ":" + node.getPort();
+			offset = Long.remainderUnsigned(hash(address, OFFSET_SEED), TABLE_SIZE);
+			skip = Long.remainderUnsigned(hash(address, SKIP_SEED), TABLE_SIZE - 1) + 1;
+		}
+
+		private int getSlot(long index) {
+			return (int)((offset + index * skip) % TABLE_SIZE);
+		}
+
+		@Override
+		public int compareTo(Permutation other) {
+			return key.compareTo(other.key);
+		}
+
+	}
+
+}
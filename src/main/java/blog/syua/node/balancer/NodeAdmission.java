@@ -0,0 +1,26 @@
+package blog.syua.node.balancer;
+
+import java.util.concurrent.ThreadLocalRandom;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Shared admission check for strategies that walk over candidates: an ejected outlier, a node
+ * whose circuit breaker rejects calls or a node at its concurrency limit is never admitted, and a
+ * node in its slow-start window is admitted with a probability equal to its current ramp factor.
+ * Strategies fall back to a non-admitted node only when no other is left.
+ */
+class NodeAdmission {
+
+	private NodeAdmission() {
+	}
+
+	static boolean isAdmitted(Node node) {
+		if (!node.isAvailable()) {
+			return false;
+		}
+		double factor = node.getSlowStartFactor();
+		return factor >= 1 || ThreadLocalRandom.current().nextDouble() < factor;
+	}
+
+}
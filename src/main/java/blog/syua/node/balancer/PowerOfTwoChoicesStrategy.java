@@ -0,0 +1,52 @@
+package blog.syua.node.balancer;
+
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Samples two distinct nodes at random and keeps the one with the lower expected latency,
+ * estimated as the round-trip EWMA scaled by the requests already queued on the node.
+ * A node without RTT samples yet wins the comparison so that it gets measured, and an unavailable
+ * or slow-starting node loses it unless it is admitted.
+ */
+public class PowerOfTwoChoicesStrategy implements LoadBalancingStrategy {
+
+	@Override
+	public StrategyType getType() {
+		return StrategyType.POWER_OF_TWO_CHOICES;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes) {
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException("No node to select");
+		}
+		if (nodes.size() == 1) {
+			return nodes.get(0);
+		}
+		ThreadLocalRandom random = ThreadLocalRandom.current();
+		int firstIndex = random.nextInt(nodes.size());
+		int secondIndex = random.nextInt(nodes.size() - 1);
+		if (secondIndex >= firstIndex) {
+			secondIndex++;
+		}
+		T first = nodes.get(firstIndex);
+		T second = nodes.get(secondIndex);
+		boolean isFirstAdmitted = NodeAdmission.isAdmitted(first);
+		if (isFirstAdmitted != NodeAdmission.isAdmitted(second)) {
+			return isFirstAdmitted ? first : second;
+		}
+		return getScore(second) < getScore(first) ? second : first;
+	}
+
+	private double getScore(Node node) {
+		long rttEwmaNanos = node.getRttEwmaNanos();
+		if (rttEwmaNanos == 0) {
+			return -1;
+		}
+		return (double)rttEwmaNanos * (node.getInFlightCount() + 1);
+	}
+
+}
@@ -0,0 +1,38 @@
+package blog.syua.node.balancer;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Rotates over the snapshot. An unavailable node, or a node in its slow-start window that is not
+ * admitted, passes its turn to the next node.
+ */
+public class RoundRobinStrategy implements LoadBalancingStrategy {
+
+	private final AtomicInteger nextIndex;
+
+	public RoundRobinStrategy() {
+		nextIndex = new AtomicInteger();
+	}
+
+	@Override
+	public StrategyType getType() {
+		return StrategyType.ROUND_ROBIN;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes) {
+		if (nodes.isEmpty()) {
+			throw new IllegalStateException("No node to select");
+		}
+		int index = nextIndex.getAndIncrement();
+		T selectedNode = nodes.get(Math.floorMod(index, nodes.size()));
+		for (int attempt = 1; attempt < nodes.size() && !NodeAdmission.isAdmitted(selectedNode); attempt++) {
+			selectedNode = nodes.get(Math.floorMod(index + attempt, nodes.size()));
+		}
+		return selectedNode;
+	}
+
+}
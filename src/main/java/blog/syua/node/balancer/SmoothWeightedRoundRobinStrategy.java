@@ -0,0 +1,86 @@
+package blog.syua.node.balancer;
+
+import java.net.InetSocketAddress;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import blog.syua.node.node.Node;
+
+/**
+ * Smooth weighted round-robin as used by nginx. Every selection raises each node's current weight
+ * by its configured weight and picks the largest, which is then lowered by the total, so a heavy
+ * node is interleaved with the others instead of receiving its share in one burst.
+ * Weights are read from the nodes on every selection, so runtime updates apply immediately.
+ * Unavailable nodes and nodes at their capacity are skipped while any other node is left, and a node
+ * in its slow-start window takes part with its weight scaled by the ramp factor.
+ */
+public class SmoothWeightedRoundRobinStrategy implements LoadBalancingStrategy {
+
+	private static final int WEIGHT_SCALE = 100;
+
+	private final Map<Node, Long> currentWeights;
+	private List<? extends Node> lastNodes;
+
+	public SmoothWeightedRoundRobinStrategy() {
+		currentWeights = new HashMap<>();
+		lastNodes = List.of();
+	}
+
+	@Override
+	public StrategyType getType() {
+		return StrategyType.SMOOTH_WEIGHTED_ROUND_ROBIN;
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes) {
+		return select(nodes, List.of());
+	}
+
+	@Override
+	public <T extends Node> T select(List<T> nodes, InetSocketAddress clientAddress,
+		Collection<? extends Node> excludedNodes) {
+		return select(nodes, excludedNodes);
+	}
+
+	private synchronized <T extends Node> T select(List<T> nodes, Collection<? extends Node> excludedNodes) {
+		if (nodes.size() <= excludedNodes.size() && excludedNodes.containsAll(nodes)) {
+			throw new IllegalStateException("No node to select");
+		}
+		if (nodes != lastNodes) {
+			currentWeights.keySet().retainAll(nodes);
+			lastNodes = nodes;
+		}
+		boolean isAllSkipped = nodes.stream()
+			.filter(node -> !excludedNodes.contains(node))
+			.allMatch(this::isSkipped);
+		T selectedNode = null;
+		long selectedWeight = Long.MIN_VALUE;
+		long totalWeight = 0;
+		for (T node : nodes) {
+			if (excludedNodes.contains(node) || !isAllSkipped && isSkipped(node)) {
+				continue;
+			}
+			long effectiveWeight = getEffectiveWeight(node);
+			long currentWeight = currentWeights.getOrDefault(node, 0L) + effectiveWeight;
+			currentWeights.put(node, currentWeight);
+			totalWeight += effectiveWeight;
+			if (currentWeight > selectedWeight) {
+				selectedNode = node;
+				selectedWeight = currentWeight;
+			}
+		}
+		currentWeights.put(selectedNode, selectedWeight - totalWeight);
+		return selectedNode;
+	}
+
+	private boolean isSkipped(Node node) {
+		return !node.isAvailable() || node.isOverCapacity();
+	}
+
+	private long getEffectiveWeight(Node node) {
+		return Math.max(1, Math.round((double)node.getWeight() * WEIGHT_SCALE * node.getSlowStartFactor()));
+	}
+
+}
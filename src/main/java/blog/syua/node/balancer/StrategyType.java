@@ -0,0 +1,7 @@
+package blog.syua.node.balancer;
+
+public enum StrategyType {
+
+	ROUND_ROBIN, LEAST_OUTSTANDING, SMOOTH_WEIGHTED_ROUND_ROBIN, POWER_OF_TWO_CHOICES, MAGLEV_HASH
+
+}
@@ -0,0 +1,119 @@
+package blog.syua.node.circuitbreaker;
+
+/**
+ * Per-node circuit breaker. A closed breaker opens after a run of consecutive failures and then
+ * rejects every call until the open timeout has passed. It then turns half-open and admits only a
+ * few concurrent trial calls: enough successes close it again, while any failure reopens it.
+ * Every acquired permission must end in exactly one of onSuccess, onFailure or onIgnored.
+ */
+public class CircuitBreaker {
+
+	public enum State {
+		CLOSED, OPEN, HALF_OPEN
+	}
+
+	private static final int FAILURE_THRESHOLD = 5;
+	private static final long OPEN_TIMEOUT = 5000;
+	private static final int HALF_OPEN_MAX_CALLS = 1;
+	private static final int SUCCESS_THRESHOLD = 3;
+
+	private volatile State state;
+	private volatile long openedAt;
+	private volatile int consecutiveFailureCount;
+	private volatile int halfOpenCallCount;
+	private int halfOpenSuccessCount;
+
+	public CircuitBreaker() {
+		state = State.CLOSED;
+	}
+
+	public State getState() {
+		return state;
+	}
+
+	/**
+	 * Whether a call would be admitted now, without taking a permission. Used while selecting a node.
+	 */
+	public boolean isCallPermitted() {
+		State current = state;
+		if (current == State.CLOSED) {
+			return true;
+		}
+		if (current == State.OPEN) {
+			return System.currentTimeMillis() - openedAt >= OPEN_TIMEOUT;
+		}
+		return halfOpenCallCount < HALF_OPEN_MAX_CALLS;
+	}
+
+	public boolean tryAcquirePermission() {
+		if (state == State.CLOSED) {
+			return true;
+		}
+		synchronized (this) {
+			if (state == State.OPEN) {
+				if (System.currentTimeMillis() - openedAt < OPEN_TIMEOUT) {
+					return false;
+				}
+				transitionTo(State.HALF_OPEN);
+			}
+			if (state == State.HALF_OPEN) {
+				if (halfOpenCallCount >= HALF_OPEN_MAX_CALLS) {
+					return false;
+				}
+				halfOpenCallCount++;
+			}
+			return true;
+		}
+	}
+
+	public void onSuccess() {
+		if (state == State.CLOSED && consecutiveFailureCount == 0) {
+			return;
+		}
+		synchronized (this) {
+			if (state == State.CLOSED) {
+				consecutiveFailureCount = 0;
+			} else if (state == State.HALF_OPEN) {
+				releaseHalfOpenCall();
+				if (++halfOpenSuccessCount >= SUCCESS_THRESHOLD) {
+					transitionTo(State.CLOSED);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true when this failure opened the breaker
+	 */
+	public synchronized boolean onFailure() {
+		if (state == State.CLOSED && ++consecutiveFailureCount >= FAILURE_THRESHOLD
+			|| state == State.HALF_OPEN) {
+			transitionTo(State.OPEN);
+			return true;
+		}
+		return false;
+	}
+
+	public synchronized void onIgnored() {
+		if (state == State.HALF_OPEN) {
+			releaseHalfOpenCall();
+		}
+	}
+
+	private void releaseHalfOpenCall() {
+		if (halfOpenCallCount > 0) {
+			halfOpenCallCount--;
+		}
+	}
+
+	private void transitionTo(State newState) {
+		state = newState;
+		consecutiveFailureCount = 0;
+		halfOpenCallCount = 0;
+		halfOpenSuccessCount = 0;
+		if (newState == State.OPEN) {
+			openedAt = System.currentTimeMillis();
+		}
+	}
+
+}
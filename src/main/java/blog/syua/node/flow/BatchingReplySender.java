@@ -0,0 +1,103 @@
+package blog.syua.node.flow;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+
+import blog.syua.node.group.nio.NioEventLoop;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Collects replies produced during one event loop wakeup into a preallocated ring
+ * and sends them together once the selected keys have been processed.
+ * Must only be used from the given event loop.
+ */
+@Slf4j
+public class BatchingReplySender implements UdpReplySender {
+
+	private static final int SLOT_SIZE = 4096;
+
+	private final DatagramChannel channel;
+	private final NioEventLoop eventLoop;
+	private final PooledBuffer[] slots;
+	private final SocketAddress[] clientAddresses;
+	private int pendingCount;
+	private boolean isFlushScheduled;
+	private long dropCount;
+
+	public BatchingReplySender(DatagramChannel channel, NioEventLoop eventLoop, int batchSize) {
+		this.channel = channel;
+		this.eventLoop = eventLoop;
+		slots = new PooledBuffer[batchSize];
+		clientAddresses = new SocketAddress[batchSize];
+		for (int index = 0; index < batchSize; index++) {
+			slots[index] = BufferPool.direct().acquire(SLOT_SIZE);
+		}
+		pendingCount = 0;
+		isFlushScheduled = false;
+	}
+
+	@Override
+	public void reply(SocketAddress clientAddress, ByteBuffer data) throws IOException {
+		if (data.remaining() > SLOT_SIZE) {
+			flush();
+			send(clientAddress, data);
+			return;
+		}
+		if (pendingCount == slots.length) {
+			flush();
+		}
+		ByteBuffer slot = slots[pendingCount].getBuffer();
+		slot.clear();
+		slot.put(data).flip();
+		clientAddresses[pendingCount++] = clientAddress;
+		if (!isFlushScheduled) {
+			isFlushScheduled = true;
+			eventLoop.execute(this::flushSafely);
+		}
+	}
+
+	public void flush() throws IOException {
+		isFlushScheduled = false;
+		int count = pendingCount;
+		pendingCount = 0;
+		for (int index = 0; index < count; index++) {
+			send(clientAddresses[index], slots[index].getBuffer());
+			clientAddresses[index] = null;
+		}
+	}
+
+	public long getDropCount() {
+		return dropCount;
+	}
+
+	public void release() {
+		pendingCount = 0;
+		for (PooledBuffer slot : slots) {
+			slot.release();
+		}
+	}
+
+	private void send(SocketAddress clientAddress, ByteBuffer data) throws IOException {
+		if (channel.send(data, clientAddress) == 0) {
+			dropCount++;
+			log.debug("Drop reply, send buffer is full - Client: {}", clientAddress);
+		}
+	}
+
+	private void flushSafely() {
+		if (!channel.isOpen()) {
+			return;
+		}
+		try {
+			flush();
+		} catch (IOException exception) {
+			log.error("Error occur in flushing replies - {}", channel);
+			exception.printStackTrace();
+		}
+	}
+
+}
@@ -0,0 +1,23 @@
+package blog.syua.node.flow;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+public class DatagramSocketReplySender implements UdpReplySender {
+
+	private final DatagramSocket socket;
+
+	public DatagramSocketReplySender(DatagramSocket socket) {
+		this.socket = socket;
+	}
+
+	@Override
+	public void reply(SocketAddress clientAddress, ByteBuffer data) throws IOException {
+		socket.send(new DatagramPacket(data.array(), data.arrayOffset() + data.position(), data.remaining(),
+			clientAddress));
+	}
+
+}
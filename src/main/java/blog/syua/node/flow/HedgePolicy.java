@@ -0,0 +1,46 @@
+package blog.syua.node.flow;
+
+import java.util.concurrent.TimeUnit;
+
+import blog.syua.node.retry.RetryBudget;
+
+/**
+ * Decides when and how often a UDP group hedges: a datagram without a reply after the 95th
+ * percentile of recent round trips is sent to a second node, as long as the hedge budget allows.
+ */
+public class HedgePolicy {
+
+	private static final double PERCENTILE = 95;
+	private static final long INITIAL_DELAY = 50;
+	private static final int BUDGET_RATIO_PERCENT = 10;
+	private static final int MAX_TOKENS = 20;
+
+	private final LatencyTracker latencyTracker;
+	private final RetryBudget hedgeBudget;
+
+	public HedgePolicy() {
+		latencyTracker = new LatencyTracker(PERCENTILE);
+		hedgeBudget = new RetryBudget(BUDGET_RATIO_PERCENT, MAX_TOKENS);
+	}
+
+	public UdpRequest newRequest() {
+		hedgeBudget.deposit();
+		return UdpRequest.newInstance(latencyTracker);
+	}
+
+	/**
+	 * @return delay in milliseconds before the hedge is sent, at least 1
+	 */
+	public long getHedgeDelay() {
+		long percentileNanos = latencyTracker.getPercentileNanos();
+		if (percentileNanos < 0) {
+			return INITIAL_DELAY;
+		}
+		return Math.max(1, TimeUnit.NANOSECONDS.toMillis(percentileNanos));
+	}
+
+	public boolean tryAcquireHedge() {
+		return hedgeBudget.tryWithdraw();
+	}
+
+}
@@ -0,0 +1,66 @@
+package blog.syua.node.flow;
+
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Keeps the most recent round-trip samples in a ring and serves a percentile of them. The
+ * percentile is recomputed at most once per refresh interval by whichever caller gets there first.
+ */
+public class LatencyTracker {
+
+	private static final int SAMPLE_SIZE = 1024;
+	private static final int MIN_SAMPLE_COUNT = 32;
+	private static final long REFRESH_INTERVAL = 100;
+
+	private final double percentile;
+	private final AtomicLongArray samples;
+	private final AtomicInteger sampleCount;
+	private final AtomicBoolean isRefreshing;
+	private volatile long percentileNanos;
+	private volatile long refreshedAt;
+
+	public LatencyTracker(double percentile) {
+		this.percentile = percentile;
+		samples = new AtomicLongArray(SAMPLE_SIZE);
+		sampleCount = new AtomicInteger();
+		isRefreshing = new AtomicBoolean();
+		percentileNanos = -1;
+	}
+
+	public void record(long rttNanos) {
+		samples.lazySet(Math.floorMod(sampleCount.getAndIncrement(), SAMPLE_SIZE), Math.max(1, rttNanos));
+	}
+
+	/**
+	 * @return the percentile in nanoseconds, or -1 until enough samples have been recorded
+	 */
+	public long getPercentileNanos() {
+		long now = System.currentTimeMillis();
+		if (now - refreshedAt >= REFRESH_INTERVAL && isRefreshing.compareAndSet(false, true)) {
+			try {
+				refreshedAt = now;
+				percentileNanos = computePercentile();
+			} finally {
+				isRefreshing.set(false);
+			}
+		}
+		return percentileNanos;
+	}
+
+	private long computePercentile() {
+		int count = Math.min(sampleCount.get(), SAMPLE_SIZE);
+		if (count < MIN_SAMPLE_COUNT) {
+			return -1;
+		}
+		long[] sorted = new long[count];
+		for (int index = 0; index < count; index++) {
+			sorted[index] = samples.get(index);
+		}
+		Arrays.sort(sorted);
+		return sorted[Math.min(count - 1, (int)Math.ceil(count * percentile / 100) - 1)];
+	}
+
+}
@@ -0,0 +1,259 @@
+package blog.syua.node.flow;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.net.PortUnreachableException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+
+import blog.syua.node.group.nio.NioEventLoop;
+import blog.syua.node.group.nio.NioHandler;
+import blog.syua.node.node.Node;
+import blog.syua.node.node.Protocol;
+import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class UdpFlow implements NioHandler {
+
+	@Getter
+	private final InetSocketAddress clientAddress;
+	private final Node node;
+	private final DatagramChannel channel;
+	private final Queue<PendingRequest> pendingRequests;
+	private volatile UdpReplySender replySender;
+	private volatile long lastActiveAt;
+	private volatile long lastRepliedAt;
+	private volatile long timeoutNanos;
+	private volatile boolean isClosed;
+
+	private UdpFlow(InetSocketAddress clientAddress, Node node, DatagramChannel channel) {
+		this.clientAddress = clientAddress;
+		this.node = node;
+		this.channel = channel;
+		pendingRequests = new ConcurrentLinkedQueue<>();
+		lastActiveAt = System.currentTimeMillis();
+		lastRepliedAt = System.nanoTime();
+		isClosed = false;
+	}
+
+	public static UdpFlow open(InetSocketAddress clientAddress, Node node, NioEventLoop eventLoop) throws IOException {
+		DatagramChannel channel = DatagramChannel.open();
+		try {
+			channel.configureBlocking(false);
+			channel.connect(new InetSocketAddress(node.getIpAddr(), node.getPort()));
+		} catch (IOException exception) {
+			channel.close();
+			throw exception;
+		}
+		UdpFlow udpFlow = new UdpFlow(clientAddress, node, channel);
+		eventLoop.register(channel, SelectionKey.OP_READ, udpFlow);
+		return udpFlow;
+	}
+
+	public void send(ByteBuffer data, UdpReplySender replySender, long timeout) throws IOException {
+		send(data, replySender, timeout, UdpRequest.newInstance());
+	}
+
+	/**
+	 * Sends one attempt of the request. Nothing is sent when the request has already been answered
+	 * by another attempt.
+	 */
+	public void send(ByteBuffer data, UdpReplySender replySender, long timeout, UdpRequest request) throws
+		IOException {
+		if (!node.tryAcquirePermission()) {
+			throw new IOException("Node rejected request - Node Info: " + node.getIpAddr() + " " + node.getPort());
+		}
+		if (!request.addAttempt()) {
+			node.releasePermission();
+			return;
+		}
+		this.replySender = replySender;
+		lastActiveAt = System.currentTimeMillis();
+		timeoutNanos = TimeUnit.MILLISECONDS.toNanos(timeout);
+		PendingRequest pendingRequest = new PendingRequest(System.nanoTime(), request);
+		pendingRequests.offer(pendingRequest);
+		node.startRequest();
+		try {
+			channel.write(data);
+		} catch (IOException exception) {
+			boolean isPending = pendingRequests.remove(pendingRequest);
+			if (isPending) {
+				node.finishRequest();
+			}
+			if (exception instanceof ClosedChannelException) {
+				node.releasePermission();
+				if (isPending) {
+					request.cancelAttempt();
+				}
+			} else {
+				node.recordFailure();
+				if (isPending) {
+					request.fail();
+				}
+			}
+			throw exception;
+		}
+	}
+
+	@Override
+	public void handle(SelectionKey key) throws IOException {
+		try (PooledBuffer pooledBuffer = BufferPool.heap().acquire(Protocol.UDP.getMaxReceiveSize())) {
+			ByteBuffer buffer = pooledBuffer.getBuffer();
+			while (channel.read(buffer) > 0) {
+				buffer.flip();
+				lastActiveAt = System.currentTimeMillis();
+				lastRepliedAt = System.nanoTime();
+				PendingRequest pendingRequest = completeReply();
+				if (pendingRequest == null) {
+					replySender.reply(clientAddress, buffer);
+				} else {
+					long rttNanos = System.nanoTime() - pendingRequest.sentAt;
+					node.recordRtt(rttNanos);
+					node.recordSuccess();
+					if (pendingRequest.request.answer(rttNanos)) {
+						replySender.reply(clientAddress, buffer);
+					} else {
+						log.debug("Discard reply of answered request - Client: {}", clientAddress);
+					}
+				}
+				buffer.clear();
+			}
+		}
+	}
+
+	@Override
+	public void handleError(Exception exception) {
+		if (exception instanceof PortUnreachableException) {
+			log.info("Node unreachable - Client: {}", clientAddress);
+			PendingRequest pendingRequest;
+			while ((pendingRequest = completePending()) != null) {
+				node.recordFailure();
+				if (pendingRequest.request.fail()) {
+					sendErrorMessage();
+				}
+			}
+			return;
+		}
+		log.error("Error occur in UdpFlow - Client: {}", clientAddress);
+		exception.printStackTrace();
+		close();
+	}
+
+	/**
+	 * Replies are paired with requests in sending order, so after a lost reply every later reply is
+	 * paired with the request before its own. A request that times out although a reply came after it
+	 * was sent has most likely been answered that way and expires without failing the node or the client.
+	 */
+	public void expirePending(long nowNanos) {
+		PendingRequest pendingRequest;
+		while ((pendingRequest = pendingRequests.peek()) != null && nowNanos - pendingRequest.sentAt >= timeoutNanos) {
+			if (!pendingRequests.remove(pendingRequest)) {
+				continue;
+			}
+			node.finishRequest();
+			if (lastRepliedAt - pendingRequest.sentAt > 0) {
+				node.releasePermission();
+				pendingRequest.request.fail();
+				log.debug("Expire request answered out of order - Client: {}", clientAddress);
+			} else {
+				node.recordRtt(nowNanos - pendingRequest.sentAt);
+				node.recordFailure();
+				log.info("Socket Time Out - (Client: {})", clientAddress);
+				if (pendingRequest.request.fail()) {
+					sendErrorMessage();
+				}
+			}
+		}
+	}
+
+	public boolean isIdle(long now, long idleTimeout) {
+		return pendingRequests.isEmpty() && now - lastActiveAt >= idleTimeout;
+	}
+
+	public boolean isClosed() {
+		return isClosed;
+	}
+
+	@Override
+	public void close() {
+		isClosed = true;
+		PendingRequest pendingRequest;
+		while ((pendingRequest = completePending()) != null) {
+			node.releasePermission();
+			pendingRequest.request.fail();
+			log.debug("Drop pending request - Client: {}", clientAddress);
+		}
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing UdpFlow - Client: {}", clientAddress);
+		}
+	}
+
+	/**
+	 * Pairs a reply with the oldest request that no other node has answered yet, dropping the answered
+	 * requests ahead of it. Only when every pending request was answered elsewhere is the reply a known
+	 * duplicate, which is then paired with the oldest one and discarded.
+	 */
+	private PendingRequest completeReply() {
+		PendingRequest unanswered = pendingRequests.stream()
+			.filter(pendingRequest -> !pendingRequest.request.isCompleted())
+			.findFirst()
+			.orElse(null);
+		if (unanswered == null) {
+			return completePending();
+		}
+		PendingRequest pendingRequest;
+		while ((pendingRequest = pendingRequests.peek()) != null && pendingRequest != unanswered) {
+			if (pendingRequests.remove(pendingRequest)) {
+				node.finishRequest();
+				node.releasePermission();
+				log.debug("Drop request answered by another node - Client: {}", clientAddress);
+			}
+		}
+		if (!pendingRequests.remove(unanswered)) {
+			return completeReply();
+		}
+		node.finishRequest();
+		return unanswered;
+	}
+
+	private PendingRequest completePending() {
+		PendingRequest pendingRequest = pendingRequests.poll();
+		if (pendingRequest != null) {
+			node.finishRequest();
+		}
+		return pendingRequest;
+	}
+
+	private void sendErrorMessage() {
+		try {
+			replySender.reply(clientAddress, ByteBuffer.wrap(NodeMessageUtil.getForwardErrorMessage()));
+		} catch (IOException exception) {
+			log.error("Error Occur in sendErrorMessage");
+			exception.printStackTrace();
+		}
+	}
+
+	private static class PendingRequest {
+
+		private final long sentAt;
+		private final UdpRequest request;
+
+		private PendingRequest(long sentAt, UdpRequest request) {
+			this.sentAt = sentAt;
+			this.request = request;
+		}
+
+	}
+
+}
@@ -0,0 +1,110 @@
+package blog.syua.node.flow;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.ClosedChannelException;
+import java.util.concurrent.ConcurrentHashMap;
+
+import blog.syua.node.group.nio.NioEventLoop;
+import blog.syua.node.group.nio.NioEventLoopGroup;
+import blog.syua.node.node.Node;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class UdpFlowTable {
+
+	private static final long SWEEP_INTERVAL = 100;
+
+	private final Node node;
+	private final long timeout;
+	private final long idleTimeout;
+	private final ConcurrentHashMap<InetSocketAddress, UdpFlow> flows;
+	private final NioEventLoopGroup eventLoopGroup;
+	private final NioEventLoop sweepEventLoop;
+	private volatile boolean isClosed;
+
+	public UdpFlowTable(Node node, long timeout, long idleTimeout, NioEventLoopGroup eventLoopGroup) {
+		this.node = node;
+		this.timeout = timeout;
+		this.idleTimeout = idleTimeout;
+		this.eventLoopGroup = eventLoopGroup;
+		flows = new ConcurrentHashMap<>();
+		sweepEventLoop = eventLoopGroup.next();
+		isClosed = false;
+		sweepEventLoop.schedule(this::sweep, SWEEP_INTERVAL);
+	}
+
+	public void forward(InetSocketAddress clientAddress, ByteBuffer data, UdpReplySender replySender) throws
+		IOException {
+		forward(clientAddress, data, replySender, UdpRequest.newInstance());
+	}
+
+	public void forward(InetSocketAddress clientAddress, ByteBuffer data, UdpReplySender replySender,
+		UdpRequest request) throws IOException {
+		if (isClosed) {
+			throw new IllegalStateException("Flow table is closed");
+		}
+		int position = data.position();
+		UdpFlow udpFlow = getFlow(clientAddress);
+		try {
+			udpFlow.send(data, replySender, timeout, request);
+		} catch (ClosedChannelException exception) {
+			flows.remove(clientAddress, udpFlow);
+			data.position(position);
+			getFlow(clientAddress).send(data, replySender, timeout, request);
+		}
+	}
+
+	public int size() {
+		return flows.size();
+	}
+
+	public void close() {
+		isClosed = true;
+		flows.values().forEach(UdpFlow::close);
+		flows.clear();
+	}
+
+	private UdpFlow getFlow(InetSocketAddress clientAddress) throws IOException {
+		UdpFlow udpFlow = flows.get(clientAddress);
+		if (udpFlow != null && !udpFlow.isClosed()) {
+			return udpFlow;
+		}
+		try {
+			return flows.compute(clientAddress, (key, oldFlow) -> {
+				if (oldFlow != null && !oldFlow.isClosed()) {
+					return oldFlow;
+				}
+				return openFlow(key);
+			});
+		} catch (UncheckedIOException exception) {
+			throw exception.getCause();
+		}
+	}
+
+	private UdpFlow openFlow(InetSocketAddress clientAddress) {
+		try {
+			return UdpFlow.open(clientAddress, node, eventLoopGroup.next());
+		} catch (IOException exception) {
+			throw new UncheckedIOException(exception);
+		}
+	}
+
+	private void sweep() {
+		if (isClosed) {
+			return;
+		}
+		long now = System.currentTimeMillis();
+		long nowNanos = System.nanoTime();
+		flows.values().forEach(udpFlow -> {
+			udpFlow.expirePending(nowNanos);
+			if (udpFlow.isIdle(now, idleTimeout) && flows.remove(udpFlow.getClientAddress(), udpFlow)) {
+				udpFlow.close();
+			}
+		});
+		sweepEventLoop.schedule(this::sweep, SWEEP_INTERVAL);
+	}
+
+}
@@ -0,0 +1,11 @@
+package blog.syua.node.flow;
+
+import java.io.IOException;
+import java.net.SocketAddress;
+import java.nio.ByteBuffer;
+
+public interface UdpReplySender {
+
+	void reply(SocketAddress clientAddress, ByteBuffer data) throws IOException;
+
+}
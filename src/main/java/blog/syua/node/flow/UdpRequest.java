@@ -0,0 +1,75 @@
+package blog.syua.node.flow;
+
+/**
+ * One client datagram that may be sent to more than one node when it is hedged. The first reply
+ * completes it and later replies are discarded; it fails only when every attempt has failed.
+ */
+public class UdpRequest {
+
+	private final LatencyTracker latencyTracker;
+	private int outstandingCount;
+	private boolean isCompleted;
+
+	private UdpRequest(LatencyTracker latencyTracker) {
+		this.latencyTracker = latencyTracker;
+		outstandingCount = 0;
+		isCompleted = false;
+	}
+
+	public static UdpRequest newInstance() {
+		return new UdpRequest(null);
+	}
+
+	public static UdpRequest newInstance(LatencyTracker latencyTracker) {
+		return new UdpRequest(latencyTracker);
+	}
+
+	public synchronized boolean addAttempt() {
+		if (isCompleted) {
+			return false;
+		}
+		outstandingCount++;
+		return true;
+	}
+
+	/**
+	 * Withdraws an attempt that was never sent, e.g. because its flow was closed and is sent again.
+	 */
+	public synchronized void cancelAttempt() {
+		outstandingCount--;
+	}
+
+	/**
+	 * @return true when this reply is the first one and must be relayed to the client
+	 */
+	public boolean answer(long rttNanos) {
+		if (latencyTracker != null) {
+			latencyTracker.record(rttNanos);
+		}
+		synchronized (this) {
+			outstandingCount--;
+			if (isCompleted) {
+				return false;
+			}
+			isCompleted = true;
+			return true;
+		}
+	}
+
+	/**
+	 * @return true when this was the last outstanding attempt and the client should get the error message
+	 */
+	public synchronized boolean fail() {
+		outstandingCount--;
+		if (isCompleted || outstandingCount > 0) {
+			return false;
+		}
+		isCompleted = true;
+		return true;
+	}
+
+	public synchronized boolean isCompleted() {
+		return isCompleted;
+	}
+
+}
@@ -0,0 +1,7 @@
+package blog.syua.node.group;
+
+public enum ForwardingEngine {
+
+	BLOCKING, NIO, NIO_STREAMING
+
+}
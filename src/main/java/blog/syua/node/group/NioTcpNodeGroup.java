@@ -0,0 +1,258 @@
+package blog.syua.node.group;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.stream.Collectors;
+
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.RoundRobinStrategy;
+import blog.syua.node.group.nio.NioEventLoop;
+import blog.syua.node.group.nio.NioEventLoopGroup;
+import blog.syua.node.group.nio.NioHandler;
+import blog.syua.node.group.nio.TcpForwardSession;
+import blog.syua.node.group.nio.TcpStreamSession;
+import blog.syua.node.node.Node;
+import blog.syua.node.node.Protocol;
+import blog.syua.node.node.TcpNode;
+import blog.syua.node.ratelimit.ClientRateLimiter;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.utils.ListenSocketUtils;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class NioTcpNodeGroup implements NodeGroup {
+
+	private static final int EVENT_LOOP_SIZE = Runtime.getRuntime().availableProcessors();
+	private static final int STREAM_BUFFER_SIZE = 16384;
+
+	private final List<Listener> listeners;
+	private final int port;
+	private final boolean isStreaming;
+	private volatile List<TcpNode> tcpNodes;
+	@Getter
+	@Setter
+	private volatile LoadBalancingStrategy loadBalancingStrategy;
+	private volatile ClientRateLimiter clientRateLimiter;
+	private volatile int concurrencyLimit;
+	private volatile boolean isRunning;
+
+	public NioTcpNodeGroup(int port) throws IOException {
+		this(port, false);
+	}
+
+	public NioTcpNodeGroup(int port, boolean isStreaming) throws IOException {
+		this(port, isStreaming, ListenSocketUtils.DEFAULT_LISTENER_COUNT);
+	}
+
+	public NioTcpNodeGroup(int port, boolean isStreaming, int listenerCount) throws IOException {
+		this.port = port;
+		this.isStreaming = isStreaming;
+		tcpNodes = List.of();
+		loadBalancingStrategy = new RoundRobinStrategy();
+		listeners = openListeners(port, listenerCount);
+		isRunning = false;
+	}
+
+	@Override
+	public void startForwarding() {
+		if (tcpNodes.isEmpty()) {
+			throw new IllegalStateException("Unable to start forwarding");
+		}
+		if (isRunning) {
+			throw new IllegalStateException("Forwarding is already in progress");
+		}
+		isRunning = true;
+		log.info("StartForward - {}", this);
+		listeners.forEach(listener -> listener.eventLoopGroup.next()
+			.register(listener.listenChannel, SelectionKey.OP_ACCEPT, new AcceptHandler(listener)));
+	}
+
+	@Override
+	public synchronized void registerNode(Node tcpNode) {
+		if (!(tcpNode instanceof TcpNode)) {
+			throw new IllegalArgumentException("Not a TCP node");
+		}
+		tcpNode.setConcurrencyLimit(concurrencyLimit);
+		List<TcpNode> nodes = new ArrayList<>(tcpNodes);
+		nodes.add((TcpNode)tcpNode);
+		tcpNodes = List.copyOf(nodes);
+		log.info("RegisterNode - {}", tcpNode);
+	}
+
+	@Override
+	public synchronized void unRegisterNode(Node tcpNode) {
+		if (!(tcpNode instanceof TcpNode)) {
+			throw new IllegalArgumentException("Not a TCP node");
+		}
+		removeNode(tcpNode);
+		log.info("UnRegisterNode - {}", tcpNode);
+		if (tcpNodes.isEmpty()) {
+			stopForwarding();
+		}
+	}
+
+	@Override
+	public RateLimit getRateLimit() {
+		ClientRateLimiter rateLimiter = clientRateLimiter;
+		return rateLimiter == null ? RateLimit.unlimited() : rateLimiter.getRateLimit();
+	}
+
+	@Override
+	public void setRateLimit(RateLimit rateLimit) {
+		clientRateLimiter = rateLimit.isUnlimited() ? null : ClientRateLimiter.newInstance(rateLimit);
+	}
+
+	@Override
+	public synchronized void setConcurrencyLimit(int concurrencyLimit) {
+		this.concurrencyLimit = concurrencyLimit;
+		tcpNodes.forEach(node -> node.setConcurrencyLimit(concurrencyLimit));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return tcpNodes.isEmpty();
+	}
+
+	@Override
+	public Optional<Node> findNode(Node node) {
+		return tcpNodes.stream()
+			.filter(node::equals)
+			.findFirst()
+			.map(Node.class::cast);
+	}
+
+	private void stopForwarding() {
+		isRunning = false;
+		listeners.forEach(Listener::close);
+		log.info("Stop Forward - {}", this);
+	}
+
+	private List<Listener> openListeners(int port, int requestedCount) throws IOException {
+		int count = ListenSocketUtils.getListenerCount(requestedCount);
+		int eventLoopSizePerListener = Math.max(1, EVENT_LOOP_SIZE / count);
+		List<Listener> result = new ArrayList<>(count);
+		try {
+			for (int index = 0; index < count; index++) {
+				ServerSocketChannel listenChannel = ListenSocketUtils.openServerSocketChannel(port, count > 1);
+				listenChannel.configureBlocking(false);
+				result.add(new Listener(listenChannel,
+					new NioEventLoopGroup(eventLoopSizePerListener, "nio-tcp-" + port + "-" + index)));
+			}
+		} catch (IOException exception) {
+			result.forEach(Listener::close);
+			throw exception;
+		}
+		return result;
+	}
+
+	private void removeNode(Node tcpNode) {
+		findNode(tcpNode)
+			.ifPresent(registeredNode -> {
+				tcpNodes = tcpNodes.stream()
+					.filter(node -> node != registeredNode)
+					.collect(Collectors.toUnmodifiableList());
+				registeredNode.close();
+			});
+	}
+
+	private boolean isRateLimited(InetAddress clientAddress) {
+		ClientRateLimiter rateLimiter = clientRateLimiter;
+		if (rateLimiter == null || rateLimiter.tryAcquire(clientAddress)) {
+			return false;
+		}
+		log.debug("Rate limit exceeded - Client: {}", clientAddress);
+		return true;
+	}
+
+	private TcpNode selectNode(SocketChannel clientChannel) {
+		return loadBalancingStrategy.select(tcpNodes,
+			new InetSocketAddress(clientChannel.socket().getInetAddress(), 0));
+	}
+
+	private class AcceptHandler implements NioHandler {
+
+		private final Listener listener;
+
+		private AcceptHandler(Listener listener) {
+			this.listener = listener;
+		}
+
+		@Override
+		public void handle(SelectionKey key) throws IOException {
+			SocketChannel clientChannel;
+			while (isRunning && (clientChannel = listener.listenChannel.accept()) != null) {
+				if (isRateLimited(clientChannel.socket().getInetAddress())) {
+					clientChannel.close();
+					continue;
+				}
+				clientChannel.configureBlocking(false);
+				log.info("Client(ip: {}) connect to TCP Port: {}", clientChannel.socket().getInetAddress(), port);
+				startSession(listener.eventLoopGroup.next(), clientChannel, selectNode(clientChannel));
+			}
+		}
+
+		private void startSession(NioEventLoop eventLoop, SocketChannel clientChannel, TcpNode tcpNode) throws
+			IOException {
+			if (isStreaming) {
+				new TcpStreamSession(eventLoop, clientChannel, tcpNode, STREAM_BUFFER_SIZE).start();
+				return;
+			}
+			new TcpForwardSession(eventLoop, clientChannel, tcpNode).start();
+		}
+
+		@Override
+		public void handleError(Exception exception) {
+			if (!isRunning) {
+				return;
+			}
+			log.error("Unable to accept client - {}", NioTcpNodeGroup.this);
+			exception.printStackTrace();
+		}
+
+		@Override
+		public void close() {
+		}
+
+	}
+
+	@Override
+	public String toString() {
+		return "NioTcpNodeGroup{" +
+			"protocol=" + Protocol.TCP +
+			", port=" + port +
+			", streaming=" + isStreaming +
+			", listeners=" + listeners.size() +
+			'}';
+	}
+
+	private static class Listener {
+
+		private final ServerSocketChannel listenChannel;
+		private final NioEventLoopGroup eventLoopGroup;
+
+		private Listener(ServerSocketChannel listenChannel, NioEventLoopGroup eventLoopGroup) {
+			this.listenChannel = listenChannel;
+			this.eventLoopGroup = eventLoopGroup;
+		}
+
+		private void close() {
+			try {
+				listenChannel.close();
+			} catch (IOException exception) {
+				log.error("Error occur in closing listen channel - {}", listenChannel);
+			}
+			eventLoopGroup.close();
+		}
+
+	}
+
+}
@@ -0,0 +1,367 @@
+package blog.syua.node.group;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.SelectionKey;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Optional;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.RoundRobinStrategy;
+import blog.syua.node.flow.BatchingReplySender;
+import blog.syua.node.flow.HedgePolicy;
+import blog.syua.node.flow.UdpFlowTable;
+import blog.syua.node.flow.UdpRequest;
+import blog.syua.node.group.nio.NioEventLoop;
+import blog.syua.node.group.nio.NioEventLoopGroup;
+import blog.syua.node.group.nio.NioHandler;
+import blog.syua.node.node.Node;
+import blog.syua.node.node.Protocol;
+import blog.syua.node.node.UdpNode;
+import blog.syua.node.ratelimit.ClientRateLimiter;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.utils.ListenSocketUtils;
+import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class NioUdpNodeGroup implements NodeGroup {
+
+	private static final int BATCH_SIZE = 32;
+	private static final long TIMEOUT = 5000;
+	private static final long FLOW_IDLE_TIMEOUT = 30000;
+
+	private final List<Listener> listeners;
+	private final int port;
+	private volatile List<UdpNode> udpNodes;
+	@Getter
+	@Setter
+	private volatile LoadBalancingStrategy loadBalancingStrategy;
+	private volatile ClientRateLimiter clientRateLimiter;
+	private volatile int concurrencyLimit;
+	private volatile HedgePolicy hedgePolicy;
+	private volatile boolean isRunning;
+
+	public NioUdpNodeGroup(int port) throws IOException {
+		this(port, ListenSocketUtils.DEFAULT_LISTENER_COUNT);
+	}
+
+	public NioUdpNodeGroup(int port, int listenerCount) throws IOException {
+		this.port = port;
+		udpNodes = List.of();
+		loadBalancingStrategy = new RoundRobinStrategy();
+		listeners = openListeners(port, listenerCount);
+		isRunning = false;
+	}
+
+	@Override
+	public void startForwarding() {
+		if (udpNodes.isEmpty()) {
+			throw new IllegalStateException("Unable to start forwarding");
+		}
+		if (isRunning) {
+			throw new IllegalStateException("Forwarding is already in progress");
+		}
+		isRunning = true;
+		log.info("StartForward - {}", this);
+		listeners.forEach(listener -> listener.eventLoop
+			.register(listener.listenChannel, SelectionKey.OP_READ, new ReceiveHandler(listener)));
+	}
+
+	@Override
+	public synchronized void registerNode(Node udpNode) {
+		if (!(udpNode instanceof UdpNode)) {
+			throw new IllegalArgumentException("Not UDP node");
+		}
+		udpNode.setConcurrencyLimit(concurrencyLimit);
+		List<UdpNode> nodes = new ArrayList<>(udpNodes);
+		nodes.add((UdpNode)udpNode);
+		udpNodes = List.copyOf(nodes);
+		log.info("RegisterNode - {}", udpNode);
+	}
+
+	@Override
+	public synchronized void unRegisterNode(Node udpNode) {
+		if (!(udpNode instanceof UdpNode)) {
+			throw new IllegalArgumentException("Not UDP node");
+		}
+		removeNode(udpNode);
+		listeners.forEach(listener -> listener.removeFlowTable(udpNode));
+		log.info("UnRegisterNode - {}", udpNode);
+		if (udpNodes.isEmpty()) {
+			stopForwarding();
+		}
+	}
+
+	@Override
+	public synchronized void setHedging(boolean isHedging) {
+		if (!isHedging) {
+			hedgePolicy = null;
+			return;
+		}
+		if (hedgePolicy == null) {
+			hedgePolicy = new HedgePolicy();
+		}
+	}
+
+	@Override
+	public RateLimit getRateLimit() {
+		ClientRateLimiter rateLimiter = clientRateLimiter;
+		return rateLimiter == null ? RateLimit.unlimited() : rateLimiter.getRateLimit();
+	}
+
+	@Override
+	public void setRateLimit(RateLimit rateLimit) {
+		clientRateLimiter = rateLimit.isUnlimited() ? null : ClientRateLimiter.newInstance(rateLimit);
+	}
+
+	@Override
+	public synchronized void setConcurrencyLimit(int concurrencyLimit) {
+		this.concurrencyLimit = concurrencyLimit;
+		udpNodes.forEach(node -> node.setConcurrencyLimit(concurrencyLimit));
+	}
+
+	@Override
+	public boolean isEmpty() {
+		return udpNodes.isEmpty();
+	}
+
+	@Override
+	public Optional<Node> findNode(Node node) {
+		return udpNodes.stream()
+			.filter(node::equals)
+			.findFirst()
+			.map(Node.class::cast);
+	}
+
+	private void stopForwarding() {
+		isRunning = false;
+		listeners.forEach(Listener::close);
+		log.info("Stop Forward - {}", this);
+	}
+
+	private List<Listener> openListeners(int port, int requestedCount) throws IOException {
+		int count = ListenSocketUtils.getListenerCount(requestedCount);
+		List<Listener> result = new ArrayList<>(count);
+		try {
+			for (int index = 0; index < count; index++) {
+				DatagramChannel listenChannel = ListenSocketUtils.openDatagramChannel(port, count > 1);
+				listenChannel.configureBlocking(false);
+				result.add(new Listener(listenChannel, new NioEventLoopGroup(1, "nio-udp-" + port + "-" + index)));
+			}
+		} catch (IOException exception) {
+			result.forEach(Listener::close);
+			throw exception;
+		}
+		return result;
+	}
+
+	private void removeNode(Node udpNode) {
+		findNode(udpNode)
+			.ifPresent(registeredNode -> {
+				udpNodes = udpNodes.stream()
+					.filter(node -> node != registeredNode)
+					.collect(Collectors.toUnmodifiableList());
+				registeredNode.close();
+			});
+	}
+
+	private boolean isRateLimited(InetAddress clientAddress) {
+		ClientRateLimiter rateLimiter = clientRateLimiter;
+		if (rateLimiter == null || rateLimiter.tryAcquire(clientAddress)) {
+			return false;
+		}
+		log.debug("Rate limit exceeded - Client: {}", clientAddress);
+		return true;
+	}
+
+	private UdpNode selectNode(InetSocketAddress clientAddress) {
+		return loadBalancingStrategy.select(udpNodes, clientAddress);
+	}
+
+	private class Listener {
+
+		private final DatagramChannel listenChannel;
+		private final NioEventLoopGroup eventLoopGroup;
+		private final NioEventLoop eventLoop;
+		private final Map<UdpNode, UdpFlowTable> flowTables;
+
+		private Listener(DatagramChannel listenChannel, NioEventLoopGroup eventLoopGroup) {
+			this.listenChannel = listenChannel;
+			this.eventLoopGroup = eventLoopGroup;
+			eventLoop = eventLoopGroup.next();
+			flowTables = new ConcurrentHashMap<>();
+		}
+
+		private UdpFlowTable getFlowTable(UdpNode udpNode) {
+			return flowTables.computeIfAbsent(udpNode,
+				node -> new UdpFlowTable(node, TIMEOUT, FLOW_IDLE_TIMEOUT, eventLoopGroup));
+		}
+
+		private void removeFlowTable(Node udpNode) {
+			UdpFlowTable flowTable = flowTables.remove(udpNode);
+			if (flowTable != null) {
+				flowTable.close();
+			}
+		}
+
+		private void close() {
+			try {
+				listenChannel.close();
+			} catch (IOException exception) {
+				log.error("Error occur in closing listen channel - {}", listenChannel);
+			}
+			flowTables.values().forEach(UdpFlowTable::close);
+			flowTables.clear();
+			eventLoopGroup.close();
+		}
+
+	}
+
+	/**
+	 * Drains up to BATCH_SIZE ready datagrams per wakeup into a preallocated ring of buffers, then
+	 * dispatches the whole batch to the flow tables. Replies are flushed in batches by the reply sender.
+	 */
+	private class ReceiveHandler implements NioHandler {
+
+		private final Listener listener;
+		private final DatagramChannel listenChannel;
+		private final PooledBuffer[] slots;
+		private final InetSocketAddress[] clientAddresses;
+		private final BatchingReplySender replySender;
+
+		private ReceiveHandler(Listener listener) {
+			this.listener = listener;
+			listenChannel = listener.listenChannel;
+			slots = new PooledBuffer[BATCH_SIZE];
+			clientAddresses = new InetSocketAddress[BATCH_SIZE];
+			for (int index = 0; index < BATCH_SIZE; index++) {
+				slots[index] = BufferPool.direct().acquire(Protocol.UDP.getMaxReceiveSize());
+			}
+			replySender = new BatchingReplySender(listenChannel, listener.eventLoop, BATCH_SIZE);
+		}
+
+		@Override
+		public void handle(SelectionKey key) throws IOException {
+			dispatch(receive());
+		}
+
+		private int receive() throws IOException {
+			int count = 0;
+			int receiveCount = 0;
+			InetSocketAddress clientAddress;
+			while (isRunning && receiveCount++ < BATCH_SIZE) {
+				ByteBuffer buffer = slots[count].getBuffer();
+				buffer.clear();
+				if ((clientAddress = (InetSocketAddress)listenChannel.receive(buffer)) == null) {
+					break;
+				}
+				if (isRateLimited(clientAddress.getAddress())) {
+					continue;
+				}
+				buffer.flip();
+				clientAddresses[count++] = clientAddress;
+			}
+			return count;
+		}
+
+		private void dispatch(int count) {
+			for (int index = 0; index < count; index++) {
+				forward(clientAddresses[index], slots[index].getBuffer());
+				clientAddresses[index] = null;
+			}
+		}
+
+		private void forward(InetSocketAddress clientAddress, ByteBuffer buffer) {
+			UdpNode udpNode = selectNode(clientAddress);
+			HedgePolicy policy = hedgePolicy;
+			if (policy == null) {
+				forward(udpNode, clientAddress, buffer, UdpRequest.newInstance());
+				return;
+			}
+			UdpRequest request = policy.newRequest();
+			ByteBuffer data = ByteBuffer.allocate(buffer.remaining()).put(buffer.duplicate()).flip();
+			if (forward(udpNode, clientAddress, buffer, request)) {
+				listener.eventLoop.schedule(() -> hedge(policy, udpNode, clientAddress, data, request),
+					policy.getHedgeDelay());
+			}
+		}
+
+		private boolean forward(UdpNode udpNode, InetSocketAddress clientAddress, ByteBuffer buffer,
+			UdpRequest request) {
+			try {
+				listener.getFlowTable(udpNode).forward(clientAddress, buffer, replySender, request);
+				return true;
+			} catch (IOException exception) {
+				log.info("Fail to forward packet - Node Info: {} {} {}",
+					udpNode.getProtocol(), udpNode.getIpAddr(), udpNode.getPort());
+				sendErrorMessage(clientAddress);
+			}
+			return false;
+		}
+
+		private void hedge(HedgePolicy policy, UdpNode udpNode, InetSocketAddress clientAddress, ByteBuffer data,
+			UdpRequest request) {
+			List<UdpNode> nodes = udpNodes;
+			if (!isRunning || request.isCompleted() || nodes.size() < 2 || !policy.tryAcquireHedge()) {
+				return;
+			}
+			UdpNode hedgeNode = loadBalancingStrategy.select(nodes, clientAddress, List.of(udpNode));
+			try {
+				log.debug("Hedge packet - Client: {} Node Info: {} {}", clientAddress, hedgeNode.getIpAddr(),
+					hedgeNode.getPort());
+				listener.getFlowTable(hedgeNode).forward(clientAddress, data, replySender, request);
+			} catch (IOException exception) {
+				log.info("Fail to hedge packet - Node Info: {} {} {}",
+					hedgeNode.getProtocol(), hedgeNode.getIpAddr(), hedgeNode.getPort());
+			}
+		}
+
+		private void sendErrorMessage(InetSocketAddress clientAddress) {
+			try {
+				replySender.reply(clientAddress, ByteBuffer.wrap(NodeMessageUtil.getForwardErrorMessage()));
+			} catch (IOException exception) {
+				log.error("Error Occur in sendErrorMessage");
+			}
+		}
+
+		@Override
+		public void handleError(Exception exception) {
+			if (!isRunning) {
+				return;
+			}
+			log.error("Unable to receive packets - {}", NioUdpNodeGroup.this);
+			exception.printStackTrace();
+		}
+
+		@Override
+		public void close() {
+			for (PooledBuffer slot : slots) {
+				slot.release();
+			}
+			replySender.release();
+		}
+
+	}
+
+	@Override
+	public String toString() {
+		return "NioUdpNodeGroup{" +
+			"protocol=" + Protocol.UDP +
+			", port=" + port +
+			", listeners=" + listeners.size() +
+			'}';
+	}
+
+}
@@ -1,18 +1,43 @@
 package blog.syua.node.group;
 
 import java.io.IOException;
+import java.util.Optional;
 
+import blog.syua.node.balancer.LoadBalancingStrategy;
 import blog.syua.node.node.Node;
 import blog.syua.node.node.Protocol;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.node.retry.RetryBudget;
+import blog.syua.utils.ListenSocketUtils;
 
 public interface NodeGroup {
 
 	static NodeGroup newInstance(Protocol protocol, int port) throws IOException {
+		return newInstance(protocol, port, ForwardingEngine.BLOCKING);
+	}
+
+	static NodeGroup newInstance(Protocol protocol, int port, ForwardingEngine engine) throws IOException {
+		return newInstance(protocol, port, engine, ListenSocketUtils.DEFAULT_LISTENER_COUNT,
+			TcpNodeGroup.DEFAULT_MAX_RETRY_COUNT);
+	}
+
+	/**
+	 * Listeners above one share the port through SO_REUSEPORT. The retry count applies to blocking
+	 * TCP groups, the only ones that retry a failed connect on another node.
+	 */
+	static NodeGroup newInstance(Protocol protocol, int port, ForwardingEngine engine, int listenerCount,
+		int tcpMaxRetryCount) throws IOException {
+		if (protocol.equals(Protocol.TCP) && !engine.equals(ForwardingEngine.BLOCKING)) {
+			return new NioTcpNodeGroup(port, engine.equals(ForwardingEngine.NIO_STREAMING), listenerCount);
+		}
+		if (protocol.equals(Protocol.UDP) && !engine.equals(ForwardingEngine.BLOCKING)) {
+			return new NioUdpNodeGroup(port, listenerCount);
+		}
 		if (protocol.equals(Protocol.TCP)) {
-			return new TcpNodeGroup(port);
+			return new TcpNodeGroup(port, listenerCount, tcpMaxRetryCount, RetryBudget.global());
 		}
 		if (protocol.equals(Protocol.UDP)) {
-			return new UdpNodeGroup(port);
+			return new UdpNodeGroup(port, listenerCount);
 		}
 		throw new IllegalArgumentException("Unable to create Node Manager");
 	}
@@ -25,4 +50,40 @@ public interface NodeGroup {
 
 	boolean isEmpty();
 
+	Optional<Node> findNode(Node node);
+
+	LoadBalancingStrategy getLoadBalancingStrategy();
+
+	void setLoadBalancingStrategy(LoadBalancingStrategy loadBalancingStrategy);
+
+	RateLimit getRateLimit();
+
+	void setRateLimit(RateLimit rateLimit);
+
+	/**
+	 * Turns the adaptive concurrency limit of every node in the group on with the given starting
+	 * limit, or off with 0, including nodes registered later.
+	 */
+	void setConcurrencyLimit(int concurrencyLimit);
+
+	default void setHedging(boolean isHedging) {
+		if (isHedging) {
+			throw new IllegalArgumentException("Hedging is not supported - " + this);
+		}
+	}
+
+	/**
+	 * Number of requests waiting in the admission queue. Groups without an admission queue always report 0.
+	 */
+	default int getQueueDepth() {
+		return 0;
+	}
+
+	/**
+	 * Number of requests shed by the admission queue since the group was created.
+	 */
+	default long getShedCount() {
+		return 0;
+	}
+
 }
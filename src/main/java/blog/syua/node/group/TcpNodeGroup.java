@@ -1,40 +1,83 @@
 package blog.syua.node.group;
 
 import java.io.IOException;
+import java.io.OutputStream;
+import java.net.ConnectException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.net.SocketException;
-import java.util.LinkedList;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Objects;
-import java.util.Queue;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.Executors;
+import java.util.Optional;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.RoundRobinStrategy;
 import blog.syua.node.node.Node;
 import blog.syua.node.node.Protocol;
 import blog.syua.node.node.TcpNode;
+import blog.syua.node.ratelimit.ClientRateLimiter;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.node.retry.RetryBudget;
+import blog.syua.utils.AdmissionThreadPool;
+import blog.syua.utils.ListenSocketUtils;
 import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.SocketReadUtils;
 import blog.syua.utils.ThreadPoolUtils;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TcpNodeGroup implements NodeGroup {
 
+    public static final int DEFAULT_MAX_RETRY_COUNT = 1;
+    private static final int ADMISSION_QUEUE_SIZE = 1024;
+    private static final long ADMISSION_DEADLINE = 1000;
+
     @Value("${loadbalancer.tcp.thread-pool-size:4}")
     private final int threadPoolSize = Runtime.getRuntime().availableProcessors();
 
-    private final Queue<TcpNode> tcpNodes;
-    private final ExecutorService threadPool;
-    private final ServerSocket listenSocket;
+    private final List<Listener> listeners;
+    private final int port;
+    private final int maxRetryCount;
+    private final RetryBudget retryBudget;
+    private volatile List<TcpNode> tcpNodes;
+    @Getter
+    @Setter
+    private volatile LoadBalancingStrategy loadBalancingStrategy;
+    private volatile ClientRateLimiter clientRateLimiter;
+    private volatile int concurrencyLimit;
     private boolean isRunning;
 
     public TcpNodeGroup(int port) throws IOException {
-        tcpNodes = new LinkedList<>();
-        listenSocket = new ServerSocket(port);
+        this(port, ListenSocketUtils.DEFAULT_LISTENER_COUNT);
+    }
+
+    public TcpNodeGroup(int port, int listenerCount) throws IOException {
+        this(port, listenerCount, DEFAULT_MAX_RETRY_COUNT, RetryBudget.global());
+    }
+
+    /**
+     * A request whose connect fails is retried on up to maxRetryCount other nodes of the group, each
+     * retry withdrawing from the given budget.
+     */
+    public TcpNodeGroup(int port, int listenerCount, int maxRetryCount, RetryBudget retryBudget) throws IOException {
+        if (maxRetryCount < 0) {
+            throw new IllegalArgumentException("Max retry count must not be negative");
+        }
+        this.port = port;
+        this.maxRetryCount = maxRetryCount;
+        this.retryBudget = retryBudget;
+        tcpNodes = List.of();
+        loadBalancingStrategy = new RoundRobinStrategy();
+        listeners = openListeners(port, listenerCount);
         isRunning = false;
-        threadPool = Executors.newFixedThreadPool(threadPoolSize);
     }
 
     @Override
@@ -46,20 +89,8 @@ public class TcpNodeGroup implements NodeGroup {
             throw new IllegalStateException("Forwarding is already in progress");
         }
         isRunning = true;
-        new Thread(() -> {
-            log.info("StartForward - {}", this);
-            Socket clientSocket;
-            try {
-                while (isRunning && Objects.nonNull(clientSocket = listenSocket.accept())) {
-                    log.info("Client(ip: {}) connect to TCP Port: {}", clientSocket.getInetAddress(), listenSocket.getLocalPort());
-                    Socket finalClientSocket = clientSocket;
-                    threadPool.execute(() -> selectNode().forwardPacket(finalClientSocket));
-                }
-            } catch (Exception exception) {
-                checkSocketException(exception);
-            }
-        }).start();
-
+        log.info("StartForward - {}", this);
+        listeners.forEach(listener -> new Thread(() -> acceptClients(listener)).start());
     }
 
     @Override
@@ -67,7 +98,10 @@ public class TcpNodeGroup implements NodeGroup {
         if (!(tcpNode instanceof TcpNode)) {
             throw new IllegalArgumentException("Not a TCP node");
         }
-        tcpNodes.offer((TcpNode) tcpNode);
+        tcpNode.setConcurrencyLimit(concurrencyLimit);
+        List<TcpNode> nodes = new ArrayList<>(tcpNodes);
+        nodes.add((TcpNode) tcpNode);
+        tcpNodes = List.copyOf(nodes);
         log.info("RegisterNode - {}", tcpNode);
     }
 
@@ -76,19 +110,92 @@ public class TcpNodeGroup implements NodeGroup {
         if (!(tcpNode instanceof TcpNode)) {
             throw new IllegalArgumentException("Not a TCP node");
         }
-        tcpNodes.remove(tcpNode);
+        removeNode(tcpNode);
         log.info("UnRegisterNode - {}", tcpNode);
         if (tcpNodes.isEmpty()) {
             isRunning = false;
-            ThreadPoolUtils.removeThreadPool(threadPool, listenSocket);
+            listeners.forEach(listener -> ThreadPoolUtils.removeThreadPool(listener.threadPool, listener.listenSocket));
         }
     }
 
+    @Override
+    public RateLimit getRateLimit() {
+        ClientRateLimiter rateLimiter = clientRateLimiter;
+        return rateLimiter == null ? RateLimit.unlimited() : rateLimiter.getRateLimit();
+    }
+
+    @Override
+    public void setRateLimit(RateLimit rateLimit) {
+        clientRateLimiter = rateLimit.isUnlimited() ? null : ClientRateLimiter.newInstance(rateLimit);
+    }
+
+    @Override
+    public synchronized void setConcurrencyLimit(int concurrencyLimit) {
+        this.concurrencyLimit = concurrencyLimit;
+        tcpNodes.forEach(node -> node.setConcurrencyLimit(concurrencyLimit));
+    }
+
     @Override
     public boolean isEmpty() {
         return tcpNodes.isEmpty();
     }
 
+    @Override
+    public Optional<Node> findNode(Node node) {
+        return tcpNodes.stream()
+                .filter(node::equals)
+                .findFirst()
+                .map(Node.class::cast);
+    }
+
+    @Override
+    public int getQueueDepth() {
+        return listeners.stream()
+                .mapToInt(listener -> listener.threadPool.getQueueDepth())
+                .sum();
+    }
+
+    @Override
+    public long getShedCount() {
+        return listeners.stream()
+                .mapToLong(listener -> listener.threadPool.getShedCount())
+                .sum();
+    }
+
+    private void acceptClients(Listener listener) {
+        Socket clientSocket;
+        try {
+            while (isRunning && Objects.nonNull(clientSocket = listener.listenSocket.accept())) {
+                if (isRateLimited(clientSocket.getInetAddress())) {
+                    closeQuietly(clientSocket);
+                    continue;
+                }
+                log.info("Client(ip: {}) connect to TCP Port: {}", clientSocket.getInetAddress(), port);
+                Socket finalClientSocket = clientSocket;
+                listener.threadPool.execute(() -> forwardPacket(finalClientSocket),
+                        () -> sendErrorMessage(finalClientSocket));
+            }
+        } catch (Exception exception) {
+            checkSocketException(exception);
+        }
+    }
+
+    private List<Listener> openListeners(int port, int requestedCount) throws IOException {
+        int count = ListenSocketUtils.getListenerCount(requestedCount);
+        int poolSizePerListener = Math.max(1, threadPoolSize / count);
+        List<Listener> result = new ArrayList<>(count);
+        try {
+            for (int index = 0; index < count; index++) {
+                result.add(new Listener(ListenSocketUtils.openServerSocket(port, count > 1),
+                        new AdmissionThreadPool(poolSizePerListener, ADMISSION_QUEUE_SIZE, ADMISSION_DEADLINE)));
+            }
+        } catch (IOException exception) {
+            result.forEach(Listener::close);
+            throw exception;
+        }
+        return result;
+    }
+
     private void checkSocketException(Exception exception) {
         if (exception instanceof SocketException &&
                 NodeMessageUtil.getSocketInterruptMessage(Protocol.TCP).stream()
@@ -101,18 +208,127 @@ public class TcpNodeGroup implements NodeGroup {
         Thread.currentThread().interrupt();
     }
 
-    private synchronized TcpNode selectNode() {
-        TcpNode curNode = tcpNodes.poll();
-        tcpNodes.offer(curNode);
-        return curNode;
+    private void removeNode(Node tcpNode) {
+        findNode(tcpNode)
+                .ifPresent(registeredNode -> {
+                    tcpNodes = tcpNodes.stream()
+                            .filter(node -> node != registeredNode)
+                            .collect(Collectors.toUnmodifiableList());
+                    registeredNode.close();
+                });
+    }
+
+    private void forwardPacket(Socket clientSocket) {
+        byte[] forwardData;
+        try {
+            forwardData = SocketReadUtils.readTcpAllBytes(clientSocket.getInputStream());
+        } catch (IOException exception) {
+            log.info("Fail to read client data - {}", clientSocket);
+            sendErrorMessage(clientSocket);
+            return;
+        }
+        retryBudget.deposit();
+        List<TcpNode> triedNodes = new ArrayList<>();
+        Optional<TcpNode> tcpNode = Optional.of(selectNode(clientSocket));
+        while (tcpNode.isPresent()) {
+            if (forwardPacket(clientSocket, forwardData, tcpNode.get())) {
+                return;
+            }
+            triedNodes.add(tcpNode.get());
+            tcpNode = selectRetryNode(clientSocket, triedNodes);
+        }
+        sendErrorMessage(clientSocket);
+    }
+
+    private boolean forwardPacket(Socket clientSocket, byte[] forwardData, TcpNode tcpNode) {
+        tcpNode.startRequest();
+        try {
+            tcpNode.forwardPacket(clientSocket, forwardData);
+            return true;
+        } catch (ConnectException exception) {
+            log.info("Fail to connect - Node Info: {} {} {}", tcpNode.getProtocol(), tcpNode.getIpAddr(),
+                    tcpNode.getPort());
+            return false;
+        } finally {
+            tcpNode.finishRequest();
+        }
+    }
+
+    private boolean isRateLimited(InetAddress clientAddress) {
+        ClientRateLimiter rateLimiter = clientRateLimiter;
+        if (rateLimiter == null || rateLimiter.tryAcquire(clientAddress)) {
+            return false;
+        }
+        log.debug("Rate limit exceeded - Client: {}", clientAddress);
+        return true;
+    }
+
+    private void closeQuietly(Socket clientSocket) {
+        try {
+            clientSocket.close();
+        } catch (IOException exception) {
+            log.error("Error occur in closing client socket - {}", clientSocket);
+        }
+    }
+
+    private void sendErrorMessage(Socket clientSocket) {
+        try (OutputStream outputStream = clientSocket.getOutputStream()) {
+            outputStream.write(NodeMessageUtil.getForwardErrorMessage());
+            outputStream.flush();
+            clientSocket.close();
+        } catch (IOException exception) {
+            log.error("Error occur in sending error message - {}", clientSocket);
+        }
+    }
+
+    private TcpNode selectNode(Socket clientSocket) {
+        return loadBalancingStrategy.select(tcpNodes, new InetSocketAddress(clientSocket.getInetAddress(), 0));
+    }
+
+    private Optional<TcpNode> selectRetryNode(Socket clientSocket, List<TcpNode> triedNodes) {
+        List<TcpNode> nodes = tcpNodes;
+        if (triedNodes.size() > maxRetryCount || triedNodes.containsAll(nodes)) {
+            return Optional.empty();
+        }
+        if (!retryBudget.tryWithdraw()) {
+            log.info("Retry budget exhausted - {}", this);
+            return Optional.empty();
+        }
+        TcpNode tcpNode = loadBalancingStrategy.select(nodes,
+                new InetSocketAddress(clientSocket.getInetAddress(), 0), triedNodes);
+        log.info("Retry on another node - Node Info: {} {} {}", tcpNode.getProtocol(), tcpNode.getIpAddr(),
+                tcpNode.getPort());
+        return Optional.of(tcpNode);
     }
 
     @Override
     public String toString() {
         return "TcpNodeGroup{" +
                 "protocol=" + Protocol.TCP +
-                ", port=" + listenSocket.getLocalPort() +
+                ", port=" + port +
+                ", listeners=" + listeners.size() +
                 '}';
     }
 
+    private static class Listener {
+
+        private final ServerSocket listenSocket;
+        private final AdmissionThreadPool threadPool;
+
+        private Listener(ServerSocket listenSocket, AdmissionThreadPool threadPool) {
+            this.listenSocket = listenSocket;
+            this.threadPool = threadPool;
+        }
+
+        private void close() {
+            threadPool.shutdownNow();
+            try {
+                listenSocket.close();
+            } catch (IOException exception) {
+                log.error("Error occur in closing listen socket - {}", listenSocket);
+            }
+        }
+
+    }
+
 }
@@ -1,39 +1,78 @@
 package blog.syua.node.group;
 
+import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketException;
 import java.net.SocketTimeoutException;
-import java.util.LinkedList;
-import java.util.Queue;
-import java.util.concurrent.ExecutorService;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Optional;
 import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 
 import org.springframework.beans.factory.annotation.Value;
 
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.RoundRobinStrategy;
+import blog.syua.node.flow.HedgePolicy;
+import blog.syua.node.flow.UdpRequest;
+import blog.syua.node.group.nio.NioEventLoopGroup;
 import blog.syua.node.node.Node;
 import blog.syua.node.node.Protocol;
 import blog.syua.node.node.UdpNode;
+import blog.syua.node.ratelimit.ClientRateLimiter;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.utils.AdmissionThreadPool;
+import blog.syua.utils.ListenSocketUtils;
 import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.SocketReadUtils;
 import blog.syua.utils.ThreadPoolUtils;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
+import lombok.Getter;
+import lombok.Setter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class UdpNodeGroup implements NodeGroup {
 
+	private static final int ADMISSION_QUEUE_SIZE = 1024;
+	private static final long ADMISSION_DEADLINE = 1000;
+
 	@Value("${loadbalancer.tcp.thread-pool-size:4}")
 	private final int threadPoolSize = Runtime.getRuntime().availableProcessors();
 
-	private final Queue<UdpNode> udpNodes;
-	private final ExecutorService threadPool;
-	private final DatagramSocket listenSocket;
+	private final List<Listener> listeners;
+	private final NioEventLoopGroup flowEventLoopGroup;
+	private final int port;
+	private volatile List<UdpNode> udpNodes;
+	@Getter
+	@Setter
+	private volatile LoadBalancingStrategy loadBalancingStrategy;
+	private volatile ClientRateLimiter clientRateLimiter;
+	private volatile int concurrencyLimit;
+	private volatile HedgePolicy hedgePolicy;
+	private ScheduledExecutorService hedgeScheduler;
 	private boolean isRunning;
 
-	public UdpNodeGroup(int port) throws SocketException {
-		udpNodes = new LinkedList<>();
-		listenSocket = new DatagramSocket(port);
+	public UdpNodeGroup(int port) throws IOException {
+		this(port, ListenSocketUtils.DEFAULT_LISTENER_COUNT);
+	}
+
+	public UdpNodeGroup(int port, int listenerCount) throws IOException {
+		this.port = port;
+		udpNodes = List.of();
+		loadBalancingStrategy = new RoundRobinStrategy();
+		listeners = openListeners(port, listenerCount);
+		flowEventLoopGroup = openFlowEventLoopGroup(port, listeners);
 		isRunning = false;
-		threadPool = Executors.newFixedThreadPool(threadPoolSize);
 	}
 
 	@Override
@@ -45,24 +84,7 @@ public class UdpNodeGroup implements NodeGroup {
 			throw new IllegalStateException("Forwarding is already in progress");
 		}
 		isRunning = true;
-		new Thread(() -> {
-			DatagramPacket clientPacket = null;
-			try {
-				while (isRunning) {
-					clientPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
-						Protocol.UDP.getMaxReceiveSize());
-					listenSocket.receive(clientPacket);
-					log.info("Client(ip: {}) connect to UDP Port: {}", clientPacket.getAddress(), listenSocket.getLocalPort());
-					DatagramPacket forwardClientPacket = clientPacket;
-					threadPool.execute(() -> selectNode().forwardPacket(listenSocket, forwardClientPacket));
-				}
-			} catch (SocketTimeoutException timeoutException) {
-				log.info("Socket Time Out - {Ip: {}, Port: {}}", clientPacket.getAddress(),
-					clientPacket.getPort());
-			} catch (Exception exception) {
-				checkSocketException(exception);
-			}
-		}).start();
+		listeners.forEach(listener -> new Thread(() -> receivePackets(listener)).start());
 	}
 
 	@Override
@@ -70,28 +92,215 @@ public class UdpNodeGroup implements NodeGroup {
 		if (!(udpNode instanceof UdpNode)) {
 			throw new IllegalArgumentException("Not UDP node");
 		}
-		udpNodes.offer((UdpNode)udpNode);
+		((UdpNode)udpNode).setFlowEventLoopGroup(flowEventLoopGroup);
+		udpNode.setConcurrencyLimit(concurrencyLimit);
+		List<UdpNode> nodes = new ArrayList<>(udpNodes);
+		nodes.add((UdpNode)udpNode);
+		udpNodes = List.copyOf(nodes);
 		log.info("RegisterNode - {}", udpNode);
 	}
 
 	@Override
-	public void unRegisterNode(Node udpNode) {
+	public synchronized void unRegisterNode(Node udpNode) {
 		if (!(udpNode instanceof UdpNode)) {
 			throw new IllegalArgumentException("Not UDP node");
 		}
-		udpNodes.remove(udpNode);
+		removeNode(udpNode);
 		if (udpNodes.isEmpty()) {
 			isRunning = false;
-			ThreadPoolUtils.removeThreadPool(threadPool, listenSocket);
+			listeners.forEach(listener -> ThreadPoolUtils.removeThreadPool(listener.threadPool, listener.listenSocket));
+			flowEventLoopGroup.close();
+			setHedging(false);
 		}
 		log.info("UnRegisterNode - {}", udpNode);
 	}
 
+	@Override
+	public synchronized void setHedging(boolean isHedging) {
+		if (!isHedging) {
+			hedgePolicy = null;
+			if (hedgeScheduler != null) {
+				hedgeScheduler.shutdownNow();
+				hedgeScheduler = null;
+			}
+			return;
+		}
+		if (hedgePolicy == null) {
+			hedgeScheduler = Executors.newSingleThreadScheduledExecutor();
+			hedgePolicy = new HedgePolicy();
+		}
+	}
+
+	@Override
+	public RateLimit getRateLimit() {
+		ClientRateLimiter rateLimiter = clientRateLimiter;
+		return rateLimiter == null ? RateLimit.unlimited() : rateLimiter.getRateLimit();
+	}
+
+	@Override
+	public void setRateLimit(RateLimit rateLimit) {
+		clientRateLimiter = rateLimit.isUnlimited() ? null : ClientRateLimiter.newInstance(rateLimit);
+	}
+
+	@Override
+	public synchronized void setConcurrencyLimit(int concurrencyLimit) {
+		this.concurrencyLimit = concurrencyLimit;
+		udpNodes.forEach(node -> node.setConcurrencyLimit(concurrencyLimit));
+	}
+
 	@Override
 	public boolean isEmpty() {
 		return udpNodes.isEmpty();
 	}
 
+	@Override
+	public Optional<Node> findNode(Node node) {
+		return udpNodes.stream()
+			.filter(node::equals)
+			.findFirst()
+			.map(Node.class::cast);
+	}
+
+	@Override
+	public int getQueueDepth() {
+		return listeners.stream()
+			.mapToInt(listener -> listener.threadPool.getQueueDepth())
+			.sum();
+	}
+
+	@Override
+	public long getShedCount() {
+		return listeners.stream()
+			.mapToLong(listener -> listener.threadPool.getShedCount())
+			.sum();
+	}
+
+	private void receivePackets(Listener listener) {
+		DatagramPacket clientPacket = null;
+		try {
+			while (isRunning) {
+				PooledBuffer clientBuffer = BufferPool.heap().acquire(Protocol.UDP.getMaxReceiveSize());
+				clientPacket = receiveClientPacket(listener.listenSocket, clientBuffer);
+				if (isRateLimited(clientPacket.getAddress())) {
+					clientBuffer.release();
+					continue;
+				}
+				log.debug("Client(ip: {}) connect to UDP Port: {}", clientPacket.getAddress(), port);
+				DatagramPacket forwardClientPacket = clientPacket;
+				listener.threadPool.execute(() -> {
+					try {
+						forwardPacket(listener.listenSocket, forwardClientPacket);
+					} finally {
+						clientBuffer.release();
+					}
+				}, () -> {
+					try {
+						shedPacket(listener.listenSocket, forwardClientPacket);
+					} finally {
+						clientBuffer.release();
+					}
+				});
+			}
+		} catch (SocketTimeoutException timeoutException) {
+			log.info("Socket Time Out - {Ip: {}, Port: {}}", clientPacket.getAddress(),
+				clientPacket.getPort());
+		} catch (Exception exception) {
+			checkSocketException(exception);
+		}
+	}
+
+	private boolean isRateLimited(InetAddress clientAddress) {
+		ClientRateLimiter rateLimiter = clientRateLimiter;
+		if (rateLimiter == null || rateLimiter.tryAcquire(clientAddress)) {
+			return false;
+		}
+		log.debug("Rate limit exceeded - Client: {}", clientAddress);
+		return true;
+	}
+
+	private void shedPacket(DatagramSocket listenSocket, DatagramPacket clientPacket) {
+		try {
+			byte[] errorMessage = NodeMessageUtil.getForwardErrorMessage();
+			listenSocket.send(new DatagramPacket(errorMessage, errorMessage.length, clientPacket.getSocketAddress()));
+		} catch (IOException exception) {
+			log.error("Error occur in shedding packet - {}", clientPacket.getSocketAddress());
+		}
+	}
+
+	private void forwardPacket(DatagramSocket listenSocket, DatagramPacket clientPacket) {
+		UdpNode udpNode = selectNode(clientPacket);
+		HedgePolicy policy = hedgePolicy;
+		ScheduledExecutorService scheduler = hedgeScheduler;
+		if (policy == null || scheduler == null) {
+			udpNode.forwardPacket(listenSocket, clientPacket);
+			return;
+		}
+		UdpRequest request = policy.newRequest();
+		if (!udpNode.forwardPacket(listenSocket, clientPacket, request)) {
+			return;
+		}
+		byte[] data = Arrays.copyOfRange(clientPacket.getData(), clientPacket.getOffset(),
+			clientPacket.getOffset() + clientPacket.getLength());
+		DatagramPacket hedgePacket = new DatagramPacket(data, data.length, clientPacket.getSocketAddress());
+		try {
+			scheduler.schedule(() -> hedge(policy, udpNode, listenSocket, hedgePacket, request),
+				policy.getHedgeDelay(), TimeUnit.MILLISECONDS);
+		} catch (RejectedExecutionException exception) {
+			log.debug("Hedging is turned off - {}", this);
+		}
+	}
+
+	private void hedge(HedgePolicy policy, UdpNode udpNode, DatagramSocket listenSocket, DatagramPacket clientPacket,
+		UdpRequest request) {
+		List<UdpNode> nodes = udpNodes;
+		if (!isRunning || request.isCompleted() || nodes.size() < 2 || !policy.tryAcquireHedge()) {
+			return;
+		}
+		UdpNode hedgeNode = loadBalancingStrategy.select(nodes, (InetSocketAddress)clientPacket.getSocketAddress(),
+			List.of(udpNode));
+		try {
+			hedgeNode.forward(listenSocket, clientPacket, request);
+		} catch (IOException exception) {
+			log.info("Fail to hedge packet - Node Info: {} {} {}",
+				hedgeNode.getProtocol(), hedgeNode.getIpAddr(), hedgeNode.getPort());
+		}
+	}
+
+	private DatagramPacket receiveClientPacket(DatagramSocket listenSocket, PooledBuffer clientBuffer) throws
+		IOException {
+		try {
+			return SocketReadUtils.readUdpAllBytes(listenSocket, clientBuffer);
+		} catch (IOException exception) {
+			clientBuffer.release();
+			throw exception;
+		}
+	}
+
+	private List<Listener> openListeners(int port, int requestedCount) throws IOException {
+		int count = ListenSocketUtils.getListenerCount(requestedCount);
+		int poolSizePerListener = Math.max(1, threadPoolSize / count);
+		List<Listener> result = new ArrayList<>(count);
+		try {
+			for (int index = 0; index < count; index++) {
+				result.add(new Listener(ListenSocketUtils.openDatagramSocket(port, count > 1),
+					new AdmissionThreadPool(poolSizePerListener, ADMISSION_QUEUE_SIZE, ADMISSION_DEADLINE)));
+			}
+		} catch (IOException exception) {
+			result.forEach(Listener::close);
+			throw exception;
+		}
+		return result;
+	}
+
+	private NioEventLoopGroup openFlowEventLoopGroup(int port, List<Listener> listeners) throws IOException {
+		try {
+			return new NioEventLoopGroup(threadPoolSize, "udp-flow-" + port);
+		} catch (IOException exception) {
+			listeners.forEach(Listener::close);
+			throw exception;
+		}
+	}
+
 	private void checkSocketException(Exception exception) {
 		if (exception instanceof SocketException &&
 			NodeMessageUtil.getSocketInterruptMessage(Protocol.UDP).stream()
@@ -104,18 +313,44 @@ public class UdpNodeGroup implements NodeGroup {
 		Thread.currentThread().interrupt();
 	}
 
-	private synchronized UdpNode selectNode() {
-		UdpNode curNode = udpNodes.poll();
-		udpNodes.offer(curNode);
-		return curNode;
+	private void removeNode(Node udpNode) {
+		findNode(udpNode)
+			.ifPresent(registeredNode -> {
+				udpNodes = udpNodes.stream()
+					.filter(node -> node != registeredNode)
+					.collect(Collectors.toUnmodifiableList());
+				registeredNode.close();
+			});
+	}
+
+	private UdpNode selectNode(DatagramPacket clientPacket) {
+		return loadBalancingStrategy.select(udpNodes, (InetSocketAddress)clientPacket.getSocketAddress());
 	}
 
 	@Override
 	public String toString() {
 		return "UdpNodeGroup{" +
 			"protocol=" + Protocol.UDP +
-			", port=" + listenSocket.getLocalPort() +
+			", port=" + port +
+			", listeners=" + listeners.size() +
 			'}';
 	}
 
+	private static class Listener {
+
+		private final DatagramSocket listenSocket;
+		private final AdmissionThreadPool threadPool;
+
+		private Listener(DatagramSocket listenSocket, AdmissionThreadPool threadPool) {
+			this.listenSocket = listenSocket;
+			this.threadPool = threadPool;
+		}
+
+		private void close() {
+			threadPool.shutdownNow();
+			listenSocket.close();
+		}
+
+	}
+
 }
@@ -0,0 +1,64 @@
+package blog.syua.node.group.nio;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.channels.WritableByteChannel;
+
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
+
+public class ChannelPipe {
+
+	private final PooledBuffer pooledBuffer;
+	private final ByteBuffer buffer;
+	private boolean isEof;
+	private boolean isShutdown;
+
+	public ChannelPipe(int bufferSize) {
+		pooledBuffer = BufferPool.direct().acquire(bufferSize);
+		buffer = pooledBuffer.getBuffer();
+		isEof = false;
+		isShutdown = false;
+	}
+
+	public int readFrom(ReadableByteChannel channel) throws IOException {
+		int readSize = channel.read(buffer);
+		if (readSize == -1) {
+			isEof = true;
+		}
+		return readSize;
+	}
+
+	public int writeTo(WritableByteChannel channel) throws IOException {
+		buffer.flip();
+		int writeSize = channel.write(buffer);
+		buffer.compact();
+		return writeSize;
+	}
+
+	public boolean canRead() {
+		return !isEof && buffer.hasRemaining();
+	}
+
+	public boolean hasPending() {
+		return buffer.position() > 0;
+	}
+
+	public boolean isDrainedAfterEof() {
+		return isEof && !hasPending();
+	}
+
+	public boolean isShutdown() {
+		return isShutdown;
+	}
+
+	public void markShutdown() {
+		isShutdown = true;
+	}
+
+	public void release() {
+		pooledBuffer.release();
+	}
+
+}
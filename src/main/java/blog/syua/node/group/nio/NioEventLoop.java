@@ -0,0 +1,170 @@
+package blog.syua.node.group.nio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.channels.ClosedChannelException;
+import java.nio.channels.SelectableChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.util.Iterator;
+import java.util.PriorityQueue;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class NioEventLoop implements Runnable, Closeable {
+
+	private static final long MAX_SELECT_TIMEOUT = 1000;
+
+	private final Selector selector;
+	private final Queue<Runnable> tasks;
+	private final PriorityQueue<ScheduledTask> scheduledTasks;
+	private final Thread thread;
+	private volatile boolean isRunning;
+
+	public NioEventLoop(String name) throws IOException {
+		selector = Selector.open();
+		tasks = new ConcurrentLinkedQueue<>();
+		scheduledTasks = new PriorityQueue<>();
+		isRunning = true;
+		thread = new Thread(this, name);
+		thread.setDaemon(true);
+		thread.start();
+	}
+
+	public boolean inEventLoop() {
+		return Thread.currentThread() == thread;
+	}
+
+	public void execute(Runnable task) {
+		tasks.offer(task);
+		if (!inEventLoop()) {
+			selector.wakeup();
+		}
+	}
+
+	public void register(SelectableChannel channel, int ops, NioHandler handler) {
+		execute(() -> {
+			try {
+				channel.register(selector, ops, handler);
+			} catch (ClosedChannelException exception) {
+				handler.handleError(exception);
+			}
+		});
+	}
+
+	public SelectionKey registerNow(SelectableChannel channel, int ops, NioHandler handler) throws
+		ClosedChannelException {
+		if (!inEventLoop()) {
+			throw new IllegalStateException("Not in event loop");
+		}
+		return channel.register(selector, ops, handler);
+	}
+
+	public ScheduledTask schedule(Runnable task, long delayMillis) {
+		ScheduledTask scheduledTask = new ScheduledTask(task, System.currentTimeMillis() + delayMillis);
+		if (inEventLoop()) {
+			scheduledTasks.offer(scheduledTask);
+		} else {
+			execute(() -> scheduledTasks.offer(scheduledTask));
+		}
+		return scheduledTask;
+	}
+
+	@Override
+	public void run() {
+		while (isRunning) {
+			try {
+				selector.select(getSelectTimeout());
+				processSelectedKeys();
+				runTasks();
+				runScheduledTasks();
+			} catch (Exception exception) {
+				log.error("Error occur in NioEventLoop - {}", thread.getName());
+				exception.printStackTrace();
+			}
+		}
+		closeSelector();
+	}
+
+	@Override
+	public void close() {
+		isRunning = false;
+		selector.wakeup();
+	}
+
+	private long getSelectTimeout() {
+		if (!tasks.isEmpty()) {
+			return 1;
+		}
+		ScheduledTask nextTask = scheduledTasks.peek();
+		if (nextTask == null) {
+			return MAX_SELECT_TIMEOUT;
+		}
+		long delay = nextTask.getDeadline() - System.currentTimeMillis();
+		return Math.max(1, Math.min(delay, MAX_SELECT_TIMEOUT));
+	}
+
+	private void processSelectedKeys() {
+		Iterator<SelectionKey> iterator = selector.selectedKeys().iterator();
+		while (iterator.hasNext()) {
+			SelectionKey key = iterator.next();
+			iterator.remove();
+			NioHandler handler = (NioHandler)key.attachment();
+			try {
+				if (key.isValid()) {
+					handler.handle(key);
+				}
+			} catch (Exception exception) {
+				handler.handleError(exception);
+			}
+		}
+	}
+
+	private void runTasks() {
+		Runnable task;
+		while ((task = tasks.poll()) != null) {
+			runSafely(task);
+		}
+	}
+
+	private void runScheduledTasks() {
+		long now = System.currentTimeMillis();
+		ScheduledTask scheduledTask;
+		while ((scheduledTask = scheduledTasks.peek()) != null && scheduledTask.getDeadline() <= now) {
+			scheduledTasks.poll();
+			if (!scheduledTask.isCancelled()) {
+				runSafely(scheduledTask.getTask());
+			}
+		}
+	}
+
+	private void runSafely(Runnable task) {
+		try {
+			task.run();
+		} catch (Exception exception) {
+			log.error("Error occur in NioEventLoop task - {}", thread.getName());
+			exception.printStackTrace();
+		}
+	}
+
+	private void closeSelector() {
+		selector.keys().forEach(key -> {
+			((NioHandler)key.attachment()).close();
+			try {
+				key.channel().close();
+			} catch (IOException exception) {
+				log.error("Error occur in closing channel - {}", thread.getName());
+			}
+		});
+		try {
+			selector.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing selector - {}", thread.getName());
+		}
+		log.info("Stop NioEventLoop - {}", thread.getName());
+	}
+
+}
@@ -0,0 +1,38 @@
+package blog.syua.node.group.nio;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class NioEventLoopGroup implements Closeable {
+
+	private final NioEventLoop[] eventLoops;
+	private final AtomicInteger nextIndex;
+
+	public NioEventLoopGroup(int size, String name) throws IOException {
+		if (size <= 0) {
+			throw new IllegalArgumentException("EventLoop size must be positive");
+		}
+		eventLoops = new NioEventLoop[size];
+		for (int index = 0; index < size; index++) {
+			eventLoops[index] = new NioEventLoop(name + "-" + index);
+		}
+		nextIndex = new AtomicInteger();
+	}
+
+	public NioEventLoop next() {
+		return eventLoops[Math.floorMod(nextIndex.getAndIncrement(), eventLoops.length)];
+	}
+
+	@Override
+	public void close() {
+		for (NioEventLoop eventLoop : eventLoops) {
+			eventLoop.close();
+		}
+		log.info("Close NioEventLoopGroup - size: {}", eventLoops.length);
+	}
+
+}
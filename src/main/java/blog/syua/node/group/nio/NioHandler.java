@@ -0,0 +1,14 @@
+package blog.syua.node.group.nio;
+
+import java.io.IOException;
+import java.nio.channels.SelectionKey;
+
+public interface NioHandler {
+
+	void handle(SelectionKey key) throws IOException;
+
+	void handleError(Exception exception);
+
+	void close();
+
+}
@@ -0,0 +1,27 @@
+package blog.syua.node.group.nio;
+
+import lombok.Getter;
+
+@Getter
+public class ScheduledTask implements Comparable<ScheduledTask> {
+
+	private final Runnable task;
+	private final long deadline;
+	private volatile boolean isCancelled;
+
+	ScheduledTask(Runnable task, long deadline) {
+		this.task = task;
+		this.deadline = deadline;
+		isCancelled = false;
+	}
+
+	public void cancel() {
+		isCancelled = true;
+	}
+
+	@Override
+	public int compareTo(ScheduledTask other) {
+		return Long.compare(deadline, other.deadline);
+	}
+
+}
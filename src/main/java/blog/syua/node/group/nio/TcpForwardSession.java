@@ -0,0 +1,259 @@
+package blog.syua.node.group.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+import blog.syua.node.node.Protocol;
+import blog.syua.node.node.TcpNode;
+import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class TcpForwardSession implements NioHandler {
+
+	private enum State {
+		READ_CLIENT, CONNECT_NODE, WRITE_NODE, READ_NODE, WRITE_CLIENT, CLOSED
+	}
+
+	private final NioEventLoop eventLoop;
+	private final SocketChannel clientChannel;
+	private final TcpNode tcpNode;
+	private final PooledBuffer pooledBuffer;
+	private final ByteBuffer buffer;
+	private SelectionKey clientKey;
+	private SocketChannel nodeChannel;
+	private SelectionKey nodeKey;
+	private ScheduledTask timeoutTask;
+	private long startedAt;
+	private State state;
+	private boolean isRequestStarted;
+	private boolean isPermitted;
+
+	public TcpForwardSession(NioEventLoop eventLoop, SocketChannel clientChannel, TcpNode tcpNode) {
+		this.eventLoop = eventLoop;
+		this.clientChannel = clientChannel;
+		this.tcpNode = tcpNode;
+		pooledBuffer = BufferPool.direct().acquire(Protocol.TCP.getMaxReceiveSize());
+		buffer = pooledBuffer.getBuffer();
+		state = State.READ_CLIENT;
+		isRequestStarted = false;
+		isPermitted = false;
+	}
+
+	public void start() {
+		eventLoop.execute(() -> {
+			try {
+				clientKey = eventLoop.registerNow(clientChannel, SelectionKey.OP_READ, this);
+			} catch (IOException exception) {
+				handleError(exception);
+			}
+		});
+	}
+
+	@Override
+	public void handle(SelectionKey key) throws IOException {
+		if (key.channel() == clientChannel) {
+			handleClient(key);
+			return;
+		}
+		handleNode(key);
+	}
+
+	@Override
+	public void handleError(Exception exception) {
+		if (state == State.CLOSED) {
+			return;
+		}
+		log.info("Fail to forward packet - Node Info: {} {} {}",
+			tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+		if (state == State.READ_CLIENT || state == State.WRITE_CLIENT) {
+			close();
+			return;
+		}
+		recordFailure();
+		closeNodeChannel();
+		sendErrorMessage();
+	}
+
+	private void handleClient(SelectionKey key) throws IOException {
+		if (state == State.READ_CLIENT && key.isReadable()) {
+			readClient();
+		} else if (state == State.WRITE_CLIENT && key.isWritable()) {
+			writeClient();
+		}
+	}
+
+	private void handleNode(SelectionKey key) throws IOException {
+		if (state == State.CONNECT_NODE && key.isConnectable()) {
+			finishConnect();
+		} else if (state == State.WRITE_NODE && key.isWritable()) {
+			writeNode();
+		} else if (state == State.READ_NODE && key.isReadable()) {
+			readNode();
+		}
+	}
+
+	private void readClient() throws IOException {
+		int readSize = clientChannel.read(buffer);
+		if (readSize == -1 && buffer.position() == 0) {
+			close();
+			return;
+		}
+		if (isMessageComplete(readSize)) {
+			buffer.flip();
+			clientKey.interestOps(0);
+			connectNode();
+		}
+	}
+
+	private void connectNode() throws IOException {
+		if (!tcpNode.tryAcquirePermission()) {
+			log.info("Node rejected request - Node Info: {} {} {}",
+				tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+			sendErrorMessage();
+			return;
+		}
+		isPermitted = true;
+		log.info("Forward Client(ip: {}) data to Node - ({} {} {})",
+			clientChannel.socket().getInetAddress(), tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+		timeoutTask = eventLoop.schedule(this::handleTimeout, tcpNode.getTcpTimeOut());
+		startedAt = System.nanoTime();
+		tcpNode.startRequest();
+		isRequestStarted = true;
+		nodeChannel = SocketChannel.open();
+		nodeChannel.configureBlocking(false);
+		state = State.CONNECT_NODE;
+		if (nodeChannel.connect(new InetSocketAddress(tcpNode.getIpAddr(), tcpNode.getPort()))) {
+			nodeKey = eventLoop.registerNow(nodeChannel, SelectionKey.OP_WRITE, this);
+			state = State.WRITE_NODE;
+			return;
+		}
+		nodeKey = eventLoop.registerNow(nodeChannel, SelectionKey.OP_CONNECT, this);
+	}
+
+	private void finishConnect() throws IOException {
+		if (nodeChannel.finishConnect()) {
+			state = State.WRITE_NODE;
+			nodeKey.interestOps(SelectionKey.OP_WRITE);
+		}
+	}
+
+	private void writeNode() throws IOException {
+		nodeChannel.write(buffer);
+		if (!buffer.hasRemaining()) {
+			buffer.clear();
+			state = State.READ_NODE;
+			nodeKey.interestOps(SelectionKey.OP_READ);
+		}
+	}
+
+	private void readNode() throws IOException {
+		int readSize = nodeChannel.read(buffer);
+		if (readSize == -1 && buffer.position() == 0) {
+			timeoutTask.cancel();
+			log.info("Node closed without response - Node Info: {} {} {}",
+				tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+			recordFailure();
+			closeNodeChannel();
+			sendErrorMessage();
+			return;
+		}
+		if (isMessageComplete(readSize)) {
+			timeoutTask.cancel();
+			isPermitted = false;
+			tcpNode.recordRtt(System.nanoTime() - startedAt);
+			tcpNode.recordSuccess();
+			closeNodeChannel();
+			buffer.flip();
+			state = State.WRITE_CLIENT;
+			clientKey.interestOps(SelectionKey.OP_WRITE);
+		}
+	}
+
+	private void writeClient() throws IOException {
+		clientChannel.write(buffer);
+		if (!buffer.hasRemaining()) {
+			close();
+		}
+	}
+
+	private boolean isMessageComplete(int readSize) {
+		return readSize != 0;
+	}
+
+	private void handleTimeout() {
+		if (state == State.CONNECT_NODE || state == State.WRITE_NODE || state == State.READ_NODE) {
+			log.info("Receive time out - Node Info: {} {} {}",
+				tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+			tcpNode.recordRtt(System.nanoTime() - startedAt);
+			recordFailure();
+			close();
+		}
+	}
+
+	private void recordFailure() {
+		if (isPermitted) {
+			isPermitted = false;
+			tcpNode.recordFailure();
+		}
+	}
+
+	private void sendErrorMessage() {
+		buffer.clear();
+		buffer.put(NodeMessageUtil.getForwardErrorMessage());
+		buffer.flip();
+		state = State.WRITE_CLIENT;
+		if (clientKey != null && clientKey.isValid()) {
+			clientKey.interestOps(SelectionKey.OP_WRITE);
+			return;
+		}
+		close();
+	}
+
+	private void closeNodeChannel() {
+		if (nodeChannel == null) {
+			return;
+		}
+		if (nodeKey != null) {
+			nodeKey.cancel();
+		}
+		try {
+			nodeChannel.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing node channel");
+		}
+	}
+
+	@Override
+	public void close() {
+		if (state == State.CLOSED) {
+			return;
+		}
+		state = State.CLOSED;
+		if (isRequestStarted) {
+			tcpNode.finishRequest();
+		}
+		if (isPermitted) {
+			tcpNode.releasePermission();
+		}
+		pooledBuffer.release();
+		if (timeoutTask != null) {
+			timeoutTask.cancel();
+		}
+		closeNodeChannel();
+		if (clientKey != null) {
+			clientKey.cancel();
+		}
+		try {
+			clientChannel.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing client channel");
+		}
+	}
+
+}
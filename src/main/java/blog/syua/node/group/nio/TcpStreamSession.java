@@ -0,0 +1,208 @@
+package blog.syua.node.group.nio;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.SocketChannel;
+
+import blog.syua.node.node.TcpNode;
+import blog.syua.utils.NodeMessageUtil;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class TcpStreamSession implements NioHandler {
+
+	private final NioEventLoop eventLoop;
+	private final TcpNode tcpNode;
+	private final ChannelPipe clientToNode;
+	private final ChannelPipe nodeToClient;
+	private final SocketChannel clientChannel;
+	private final SocketChannel nodeChannel;
+	private SelectionKey clientKey;
+	private SelectionKey nodeKey;
+	private ScheduledTask connectTimeoutTask;
+	private boolean isConnected;
+	private boolean isPermitted;
+	private boolean isClosed;
+
+	public TcpStreamSession(NioEventLoop eventLoop, SocketChannel clientChannel, TcpNode tcpNode, int bufferSize) throws
+		IOException {
+		this.eventLoop = eventLoop;
+		this.clientChannel = clientChannel;
+		this.tcpNode = tcpNode;
+		nodeChannel = SocketChannel.open();
+		nodeChannel.configureBlocking(false);
+		clientToNode = new ChannelPipe(bufferSize);
+		nodeToClient = new ChannelPipe(bufferSize);
+		isConnected = false;
+		isPermitted = false;
+		isClosed = false;
+	}
+
+	public void start() {
+		tcpNode.startRequest();
+		eventLoop.execute(() -> {
+			if (!tcpNode.tryAcquirePermission()) {
+				log.info("Node rejected request - Node Info: {} {} {}",
+					tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+				sendErrorMessage();
+				close();
+				return;
+			}
+			isPermitted = true;
+			try {
+				log.info("Stream Client(ip: {}) data to Node - ({} {} {})",
+					clientChannel.socket().getInetAddress(), tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+				clientKey = eventLoop.registerNow(clientChannel, 0, this);
+				connectTimeoutTask = eventLoop.schedule(this::handleConnectTimeout, tcpNode.getTcpTimeOut());
+				if (nodeChannel.connect(new InetSocketAddress(tcpNode.getIpAddr(), tcpNode.getPort()))) {
+					nodeKey = eventLoop.registerNow(nodeChannel, 0, this);
+					onConnected();
+					return;
+				}
+				nodeKey = eventLoop.registerNow(nodeChannel, SelectionKey.OP_CONNECT, this);
+			} catch (IOException exception) {
+				handleError(exception);
+			}
+		});
+	}
+
+	@Override
+	public void handle(SelectionKey key) throws IOException {
+		if (key.channel() == nodeChannel && key.isConnectable()) {
+			if (nodeChannel.finishConnect()) {
+				onConnected();
+			}
+			return;
+		}
+		if (key.isReadable()) {
+			if (key.channel() == clientChannel) {
+				clientToNode.readFrom(clientChannel);
+			} else {
+				nodeToClient.readFrom(nodeChannel);
+			}
+		}
+		if (key.isValid() && key.isWritable()) {
+			if (key.channel() == clientChannel) {
+				nodeToClient.writeTo(clientChannel);
+			} else {
+				clientToNode.writeTo(nodeChannel);
+			}
+		}
+		updateState();
+	}
+
+	@Override
+	public void handleError(Exception exception) {
+		if (isClosed) {
+			return;
+		}
+		log.info("Fail to stream packet - Node Info: {} {} {}",
+			tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+		if (!isConnected) {
+			recordFailure();
+			sendErrorMessage();
+		}
+		close();
+	}
+
+	private void onConnected() {
+		isConnected = true;
+		connectTimeoutTask.cancel();
+		isPermitted = false;
+		tcpNode.recordSuccess();
+		updateInterestOps();
+	}
+
+	private void updateState() throws IOException {
+		if (clientToNode.isDrainedAfterEof() && !clientToNode.isShutdown()) {
+			nodeChannel.shutdownOutput();
+			clientToNode.markShutdown();
+		}
+		if (nodeToClient.isDrainedAfterEof() && !nodeToClient.isShutdown()) {
+			clientChannel.shutdownOutput();
+			nodeToClient.markShutdown();
+		}
+		if (clientToNode.isShutdown() && nodeToClient.isShutdown()) {
+			close();
+			return;
+		}
+		updateInterestOps();
+	}
+
+	private void updateInterestOps() {
+		if (isClosed) {
+			return;
+		}
+		clientKey.interestOps(getInterestOps(clientToNode, nodeToClient));
+		nodeKey.interestOps(getInterestOps(nodeToClient, clientToNode));
+	}
+
+	private int getInterestOps(ChannelPipe inbound, ChannelPipe outbound) {
+		int ops = 0;
+		if (inbound.canRead()) {
+			ops |= SelectionKey.OP_READ;
+		}
+		if (outbound.hasPending()) {
+			ops |= SelectionKey.OP_WRITE;
+		}
+		return ops;
+	}
+
+	private void handleConnectTimeout() {
+		if (!isConnected && !isClosed) {
+			log.info("Connect time out - Node Info: {} {} {}",
+				tcpNode.getProtocol(), tcpNode.getIpAddr(), tcpNode.getPort());
+			recordFailure();
+			sendErrorMessage();
+			close();
+		}
+	}
+
+	private void recordFailure() {
+		if (isPermitted) {
+			isPermitted = false;
+			tcpNode.recordFailure();
+		}
+	}
+
+	private void sendErrorMessage() {
+		try {
+			clientChannel.write(ByteBuffer.wrap(NodeMessageUtil.getForwardErrorMessage()));
+		} catch (IOException exception) {
+			log.error("Error Occur in sendErrorMessage");
+		}
+	}
+
+	@Override
+	public void close() {
+		if (isClosed) {
+			return;
+		}
+		isClosed = true;
+		tcpNode.finishRequest();
+		if (isPermitted) {
+			tcpNode.releasePermission();
+		}
+		clientToNode.release();
+		nodeToClient.release();
+		if (connectTimeoutTask != null) {
+			connectTimeoutTask.cancel();
+		}
+		closeChannel(clientKey, clientChannel);
+		closeChannel(nodeKey, nodeChannel);
+	}
+
+	private void closeChannel(SelectionKey key, SocketChannel channel) {
+		if (key != null) {
+			key.cancel();
+		}
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing channel");
+		}
+	}
+
+}
@@ -7,8 +7,15 @@ import blog.syua.node.node.Protocol;
 
 public interface NodeGroupManager extends NodeManagingCallback {
 
-	void registerNode(Protocol protocol, InetAddress ipAddr, int port) throws IOException;
+	default void registerNode(Protocol protocol, InetAddress ipAddr, int port) throws IOException {
+		registerNode(protocol, ipAddr, port, RegisterOption.defaultOption());
+	}
+
+	void registerNode(Protocol protocol, InetAddress ipAddr, int port, RegisterOption registerOption) throws
+		IOException;
 
 	void unRegisterNode(Protocol protocol, InetAddress ipAddr, int port);
 
+	void updateNode(Protocol protocol, InetAddress ipAddr, int port, RegisterOption registerOption);
+
 }
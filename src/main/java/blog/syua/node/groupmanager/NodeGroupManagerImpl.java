@@ -7,38 +7,92 @@ import java.util.List;
 import java.util.Objects;
 import java.util.concurrent.ConcurrentHashMap;
 
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.StrategyType;
 import blog.syua.node.group.ForwardInfo;
+import blog.syua.node.group.ForwardingEngine;
 import blog.syua.node.group.NodeGroup;
+import blog.syua.node.group.TcpNodeGroup;
+import blog.syua.node.limit.ConcurrencyLimiter;
 import blog.syua.node.node.Node;
 import blog.syua.node.node.Protocol;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.utils.ListenSocketUtils;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 @Component
 public class NodeGroupManagerImpl implements NodeGroupManager {
 
+	private final long slowStartWindow;
+	private final int defaultRateLimit;
+	private final int defaultRateLimitBurst;
+	private final int tcpMaxRetryCount;
+	private final ForwardingEngine tcpEngine;
+	private final ForwardingEngine udpEngine;
+	private final StrategyType defaultStrategyType;
+	private final int tcpListenerCount;
+	private final int udpListenerCount;
 	private final ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups;
 	private final List<NodeManagingListener> listeners;
 
 	public NodeGroupManagerImpl() {
+		this(0, 0, 0, TcpNodeGroup.DEFAULT_MAX_RETRY_COUNT, ForwardingEngine.BLOCKING, ForwardingEngine.BLOCKING,
+			StrategyType.ROUND_ROBIN, ListenSocketUtils.DEFAULT_LISTENER_COUNT, ListenSocketUtils.DEFAULT_LISTENER_COUNT);
+	}
+
+	@Autowired
+	public NodeGroupManagerImpl(@Value("${loadbalancer.slow-start-window:0}") long slowStartWindow,
+		@Value("${loadbalancer.rate-limit.permits-per-second:0}") int defaultRateLimit,
+		@Value("${loadbalancer.rate-limit.burst:0}") int defaultRateLimitBurst,
+		@Value("${loadbalancer.tcp.max-retries:1}") int tcpMaxRetryCount,
+		@Value("${loadbalancer.tcp.engine:BLOCKING}") ForwardingEngine tcpEngine,
+		@Value("${loadbalancer.udp.engine:BLOCKING}") ForwardingEngine udpEngine,
+		@Value("${loadbalancer.strategy:ROUND_ROBIN}") StrategyType defaultStrategyType,
+		@Value("${loadbalancer.tcp.listener-count:1}") int tcpListenerCount,
+		@Value("${loadbalancer.udp.listener-count:1}") int udpListenerCount) {
+		this.slowStartWindow = slowStartWindow;
+		this.defaultRateLimit = defaultRateLimit;
+		this.defaultRateLimitBurst = defaultRateLimitBurst;
+		this.tcpMaxRetryCount = tcpMaxRetryCount;
+		this.tcpEngine = tcpEngine;
+		this.udpEngine = udpEngine;
+		this.defaultStrategyType = defaultStrategyType;
+		this.tcpListenerCount = tcpListenerCount;
+		this.udpListenerCount = udpListenerCount;
 		nodeGroups = new ConcurrentHashMap<>();
 		listeners = new ArrayList<>();
 	}
 
 	@Override
-	public void registerNode(Protocol protocol, InetAddress ipAddr, int port) throws IOException {
+	public void registerNode(Protocol protocol, InetAddress ipAddr, int port, RegisterOption registerOption) throws
+		IOException {
+		checkOption(protocol, registerOption);
 		ForwardInfo forwardInfo = ForwardInfo.of(protocol, port);
 		boolean isNewGroup = false;
 		NodeGroup nodeGroup = findNodeGroup(forwardInfo);
 		if (Objects.isNull(nodeGroup)) {
 			isNewGroup = true;
-			nodeGroup = NodeGroup.newInstance(protocol, port);
+			nodeGroup = NodeGroup.newInstance(protocol, port, getForwardingEngine(protocol),
+				getListenerCount(protocol), tcpMaxRetryCount);
+			nodeGroup.setLoadBalancingStrategy(LoadBalancingStrategy.newInstance(defaultStrategyType));
+			nodeGroup.setRateLimit(RateLimit.of(defaultRateLimit, defaultRateLimitBurst));
 			nodeGroups.put(forwardInfo, nodeGroup);
 		}
+		applyStrategy(nodeGroup, registerOption);
+		applyHedging(nodeGroup, registerOption);
+		applyRateLimit(nodeGroup, registerOption);
+		applyConcurrencyLimit(nodeGroup, registerOption);
 		log.info("RegisterNode - {} {} {}", protocol.toString(), ipAddr, port);
 		Node node = Node.newInstance(protocol, ipAddr, port);
+		registerOption.applyTo(node);
+		if (!isNewGroup) {
+			node.startSlowStart(slowStartWindow);
+		}
 		nodeGroup.registerNode(node);
 		if (isNewGroup) {
 			nodeGroup.startForwarding();
@@ -64,11 +118,95 @@ public class NodeGroupManagerImpl implements NodeGroupManager {
 		notifyUnRegisterNode(node);
 	}
 
+	@Override
+	public void updateNode(Protocol protocol, InetAddress ipAddr, int port, RegisterOption registerOption) {
+		checkOption(protocol, registerOption);
+		NodeGroup nodeGroup = findNodeGroup(ForwardInfo.of(protocol, port));
+		if (Objects.isNull(nodeGroup)) {
+			log.info("Attempted to update a node that does not exist: - {} {} {}", protocol, ipAddr, port);
+			throw new IllegalArgumentException("Node that does not exist");
+		}
+		Node node = nodeGroup.findNode(Node.newInstance(protocol, ipAddr, port))
+			.orElseThrow(() -> new IllegalArgumentException("Node that does not exist"));
+		registerOption.applyTo(node);
+		applyStrategy(nodeGroup, registerOption);
+		applyHedging(nodeGroup, registerOption);
+		applyRateLimit(nodeGroup, registerOption);
+		applyConcurrencyLimit(nodeGroup, registerOption);
+		log.info("UpdateNode - {}", node);
+	}
+
 	private void unRegisterNodeGroup(Protocol protocol, int port, ForwardInfo forwardInfo) {
 		nodeGroups.remove(forwardInfo);
 		log.info("Unregister NodeGroup - {} {}", protocol, port);
 	}
 
+	private void applyStrategy(NodeGroup nodeGroup, RegisterOption registerOption) {
+		if (!registerOption.hasStrategyType()
+			|| nodeGroup.getLoadBalancingStrategy().getType().equals(registerOption.getStrategyType())) {
+			return;
+		}
+		log.info("Change LoadBalancingStrategy - {} {}", nodeGroup, registerOption.getStrategyType());
+		nodeGroup.setLoadBalancingStrategy(LoadBalancingStrategy.newInstance(registerOption.getStrategyType()));
+	}
+
+	private void checkOption(Protocol protocol, RegisterOption registerOption) {
+		if (registerOption.hasHedging() && registerOption.getHedging() && !protocol.equals(Protocol.UDP)) {
+			throw new IllegalArgumentException("Hedging is only supported by UDP groups");
+		}
+		if (registerOption.hasRateLimit() && (registerOption.getRateLimit() < 0
+			|| registerOption.getRateLimitBurst() != null && registerOption.getRateLimitBurst() < 0)) {
+			throw new IllegalArgumentException("Rate limit must not be negative");
+		}
+		if (registerOption.hasConcurrencyLimit() && (registerOption.getConcurrencyLimit() < 0
+			|| registerOption.getConcurrencyLimit() > ConcurrencyLimiter.MAX_LIMIT)) {
+			throw new IllegalArgumentException("Concurrency limit must be between 0 and " + ConcurrencyLimiter.MAX_LIMIT);
+		}
+	}
+
+	private void applyHedging(NodeGroup nodeGroup, RegisterOption registerOption) {
+		if (!registerOption.hasHedging()) {
+			return;
+		}
+		log.info("Change Hedging - {} {}", nodeGroup, registerOption.getHedging());
+		nodeGroup.setHedging(registerOption.getHedging());
+	}
+
+	private void applyRateLimit(NodeGroup nodeGroup, RegisterOption registerOption) {
+		if (!registerOption.hasRateLimit()) {
+			return;
+		}
+		Integer burst = registerOption.getRateLimitBurst();
+		RateLimit rateLimit = RateLimit.of(registerOption.getRateLimit(), burst == null ? 0 : burst);
+		if (nodeGroup.getRateLimit().equals(rateLimit)) {
+			return;
+		}
+		log.info("Change RateLimit - {} {}", nodeGroup, rateLimit);
+		nodeGroup.setRateLimit(rateLimit);
+	}
+
+	private void applyConcurrencyLimit(NodeGroup nodeGroup, RegisterOption registerOption) {
+		if (!registerOption.hasConcurrencyLimit()) {
+			return;
+		}
+		log.info("Change ConcurrencyLimit - {} {}", nodeGroup, registerOption.getConcurrencyLimit());
+		nodeGroup.setConcurrencyLimit(registerOption.getConcurrencyLimit());
+	}
+
+	private ForwardingEngine getForwardingEngine(Protocol protocol) {
+		if (protocol.equals(Protocol.TCP)) {
+			return tcpEngine;
+		}
+		return udpEngine;
+	}
+
+	private int getListenerCount(Protocol protocol) {
+		if (protocol.equals(Protocol.TCP)) {
+			return tcpListenerCount;
+		}
+		return udpListenerCount;
+	}
+
 	private NodeGroup findNodeGroup(ForwardInfo forwardInfo) {
 		return nodeGroups.get(forwardInfo);
 	}
@@ -0,0 +1,68 @@
+package blog.syua.node.groupmanager;
+
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.node.balancer.StrategyType;
+import blog.syua.node.node.Node;
+import lombok.Builder;
+import lombok.Getter;
+
+@Getter
+public class RegisterOption {
+
+	private static final RegisterOption DEFAULT_OPTION = RegisterOption.builder().build();
+
+	private final StrategyType strategyType;
+	private final Integer weight;
+	private final Integer capacity;
+	private final Boolean hedging;
+	private final Integer rateLimit;
+	private final Integer rateLimitBurst;
+	private final Integer concurrencyLimit;
+	private final HealthCheckFormat healthCheckFormat;
+
+	@Builder
+	private RegisterOption(StrategyType strategyType, Integer weight, Integer capacity, Boolean hedging,
+		Integer rateLimit, Integer rateLimitBurst, Integer concurrencyLimit, HealthCheckFormat healthCheckFormat) {
+		this.strategyType = strategyType;
+		this.weight = weight;
+		this.capacity = capacity;
+		this.hedging = hedging;
+		this.rateLimit = rateLimit;
+		this.rateLimitBurst = rateLimitBurst;
+		this.concurrencyLimit = concurrencyLimit;
+		this.healthCheckFormat = healthCheckFormat;
+	}
+
+	public static RegisterOption defaultOption() {
+		return DEFAULT_OPTION;
+	}
+
+	public boolean hasStrategyType() {
+		return strategyType != null;
+	}
+
+	public boolean hasHedging() {
+		return hedging != null;
+	}
+
+	public boolean hasRateLimit() {
+		return rateLimit != null;
+	}
+
+	public boolean hasConcurrencyLimit() {
+		return concurrencyLimit != null;
+	}
+
+	public void applyTo(Node node) {
+		if (weight != null) {
+			node.setWeight(weight);
+		}
+		if (capacity != null) {
+			node.setCapacity(capacity);
+		}
+		if (healthCheckFormat != null) {
+			node.setHealthCheckFormat(healthCheckFormat);
+		}
+	}
+
+}
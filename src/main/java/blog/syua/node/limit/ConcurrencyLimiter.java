@@ -0,0 +1,117 @@
+package blog.syua.node.limit;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Per-node adaptive concurrency limit (AIMD). While round trips stay within a tolerance of the
+ * lowest one seen, a busy node's limit grows by one per limit-sized batch of samples; a slow round
+ * trip or a failure multiplies it by the backoff ratio, at most once per baseline round trip. The
+ * baseline is re-measured periodically so a backend that became slower for good is not starved.
+ * Every acquired slot must be returned with onSuccess, onDropped or onIgnored.
+ * Only the in-flight count is exact; the limit and the baseline are updated without locking, so a
+ * concurrent sample may occasionally be lost.
+ */
+public class ConcurrencyLimiter {
+
+	private static final long MIN_RTT_RESET_INTERVAL = 30_000_000_000L;
+	private static final int MIN_LIMIT = 1;
+	public static final int MAX_LIMIT = 1000;
+	private static final double BACKOFF_RATIO = 0.9;
+	private static final double RTT_TOLERANCE = 2.0;
+
+	private final int initialLimit;
+	private final AtomicInteger inFlightCount;
+	private final AtomicLong lastDecreasedAt;
+	private volatile double limit;
+	private volatile long minRttNanos;
+	private volatile long minRttMeasuredAt;
+
+	public ConcurrencyLimiter(int initialLimit) {
+		if (initialLimit < MIN_LIMIT || initialLimit > MAX_LIMIT) {
+			throw new IllegalArgumentException("Concurrency limit must be between " + MIN_LIMIT + " and " + MAX_LIMIT);
+		}
+		this.initialLimit = initialLimit;
+		inFlightCount = new AtomicInteger();
+		lastDecreasedAt = new AtomicLong();
+		limit = initialLimit;
+	}
+
+	public int getInitialLimit() {
+		return initialLimit;
+	}
+
+	public int getLimit() {
+		return (int)limit;
+	}
+
+	public int getInFlightCount() {
+		return inFlightCount.get();
+	}
+
+	/**
+	 * Whether the node is already at its limit, without taking a slot. Used while selecting a node.
+	 */
+	public boolean isLimitReached() {
+		return inFlightCount.get() >= (int)limit;
+	}
+
+	public boolean tryAcquire() {
+		int current;
+		while ((current = inFlightCount.get()) < (int)limit) {
+			if (inFlightCount.compareAndSet(current, current + 1)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public void onSuccess() {
+		release();
+	}
+
+	public void onDropped() {
+		release();
+		decrease(System.nanoTime());
+	}
+
+	public void onIgnored() {
+		release();
+	}
+
+	public void onSample(long rttNanos) {
+		long now = System.nanoTime();
+		long minRtt = minRttNanos;
+		if (minRtt == 0 || rttNanos < minRtt || now - minRttMeasuredAt >= MIN_RTT_RESET_INTERVAL) {
+			minRtt = Math.max(1, rttNanos);
+			minRttNanos = minRtt;
+			minRttMeasuredAt = now;
+		}
+		if (rttNanos > minRtt * RTT_TOLERANCE) {
+			decrease(now);
+			return;
+		}
+		double current = limit;
+		if (inFlightCount.get() * 2 >= current) {
+			limit = Math.min(MAX_LIMIT, current + 1 / current);
+		}
+	}
+
+	private void release() {
+		int current;
+		while ((current = inFlightCount.get()) > 0) {
+			if (inFlightCount.compareAndSet(current, current - 1)) {
+				return;
+			}
+		}
+	}
+
+	private void decrease(long now) {
+		long decreasedAt = lastDecreasedAt.get();
+		if (decreasedAt != 0 && now - decreasedAt < minRttNanos || !lastDecreasedAt.compareAndSet(decreasedAt, now)) {
+			return;
+		}
+		limit = Math.max(MIN_LIMIT, limit * BACKOFF_RATIO);
+	}
+
+}
@@ -1,26 +1,72 @@
 package blog.syua.node.node;
 
 import java.net.InetAddress;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
 
 import org.springframework.beans.factory.annotation.Value;
 
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.node.circuitbreaker.CircuitBreaker;
+import blog.syua.node.limit.ConcurrencyLimiter;
+import blog.syua.node.outlier.OutlierDetector;
+import lombok.AccessLevel;
 import lombok.EqualsAndHashCode;
 import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
 
+@Slf4j
 @Getter
 @EqualsAndHashCode
 public abstract class Node {
 
+	public static final int DEFAULT_WEIGHT = 1;
+	public static final int UNLIMITED_CAPACITY = 0;
+	private static final int RTT_EWMA_SHIFT = 3;
+	private static final double MIN_SLOW_START_FACTOR = 0.05;
+
 	@Value("${loadbalancer.healthcheck.port}")
 	private final int healthCheckPort;
 
 	private final InetAddress ipAddr;
 	private final int port;
+	@EqualsAndHashCode.Exclude
+	private final LongAdder inFlightCount;
+	@EqualsAndHashCode.Exclude
+	private final AtomicLong rttEwmaNanos;
+	@EqualsAndHashCode.Exclude
+	private final OutlierDetector outlierDetector;
+	@EqualsAndHashCode.Exclude
+	private final CircuitBreaker circuitBreaker;
+	@EqualsAndHashCode.Exclude
+	private volatile ConcurrencyLimiter concurrencyLimiter;
+	@Getter(AccessLevel.NONE)
+	@EqualsAndHashCode.Exclude
+	private final AtomicInteger heartbeatSequence;
+	@EqualsAndHashCode.Exclude
+	private volatile HealthCheckFormat healthCheckFormat;
+	@EqualsAndHashCode.Exclude
+	private volatile int weight;
+	@EqualsAndHashCode.Exclude
+	private volatile int capacity;
+	@EqualsAndHashCode.Exclude
+	private volatile long slowStartWindow;
+	@EqualsAndHashCode.Exclude
+	private volatile long slowStartedAt;
 
 	protected Node(InetAddress ipAddr, int port) {
 		this.ipAddr = ipAddr;
 		this.port = port;
 		healthCheckPort = 5555;
+		inFlightCount = new LongAdder();
+		rttEwmaNanos = new AtomicLong();
+		outlierDetector = new OutlierDetector();
+		circuitBreaker = new CircuitBreaker();
+		heartbeatSequence = new AtomicInteger();
+		healthCheckFormat = HealthCheckFormat.JSON;
+		weight = DEFAULT_WEIGHT;
+		capacity = UNLIMITED_CAPACITY;
 	}
 
 	public static Node newInstance(Protocol protocol, InetAddress ipAddr, int port) {
@@ -37,11 +83,176 @@ public abstract class Node {
 
 	public abstract boolean isHealthy();
 
+	public void startRequest() {
+		inFlightCount.increment();
+	}
+
+	public void finishRequest() {
+		inFlightCount.decrement();
+	}
+
+	public long getInFlightCount() {
+		return inFlightCount.sum();
+	}
+
+	/**
+	 * Folds a round-trip sample into the moving average with a 1/8 gain, like TCP's smoothed RTT.
+	 */
+	public void recordRtt(long rttNanos) {
+		long sample = Math.max(1, rttNanos);
+		rttEwmaNanos.accumulateAndGet(sample,
+			(average, newSample) -> average == 0 ? newSample : average + ((newSample - average) >> RTT_EWMA_SHIFT));
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		if (limiter != null) {
+			limiter.onSample(sample);
+		}
+	}
+
+	public long getRttEwmaNanos() {
+		return rttEwmaNanos.get();
+	}
+
+	/**
+	 * Takes a concurrency limit slot, when the node is limited, and a circuit breaker permission for
+	 * one request. The request must then be completed with recordSuccess, recordFailure or
+	 * releasePermission.
+	 */
+	public boolean tryAcquirePermission() {
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		if (limiter != null && !limiter.tryAcquire()) {
+			return false;
+		}
+		if (!circuitBreaker.tryAcquirePermission()) {
+			if (limiter != null) {
+				limiter.onIgnored();
+			}
+			return false;
+		}
+		return true;
+	}
+
+	public void releasePermission() {
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		if (limiter != null) {
+			limiter.onIgnored();
+		}
+		circuitBreaker.onIgnored();
+	}
+
+	public void recordSuccess() {
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		if (limiter != null) {
+			limiter.onSuccess();
+		}
+		outlierDetector.recordSuccess();
+		circuitBreaker.onSuccess();
+	}
+
+	public void recordFailure() {
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		if (limiter != null) {
+			limiter.onDropped();
+		}
+		long ejectionTime = outlierDetector.recordFailure();
+		if (ejectionTime > 0) {
+			log.info("Eject outlier node for {}ms - {}", ejectionTime, this);
+		}
+		if (circuitBreaker.onFailure()) {
+			log.info("Open circuit breaker - {}", this);
+		}
+	}
+
+	public boolean isEjected() {
+		return outlierDetector.isEjected();
+	}
+
+	public boolean isAvailable() {
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		return !outlierDetector.isEjected() && circuitBreaker.isCallPermitted()
+			&& (limiter == null || !limiter.isLimitReached());
+	}
+
+	/**
+	 * Turns the adaptive concurrency limit on with the given starting limit, or off with 0. Nodes are
+	 * unlimited by default. Requests in flight while the limiter is replaced return their slot to the
+	 * new one, which never lets its count drop below zero.
+	 */
+	public void setConcurrencyLimit(int initialLimit) {
+		if (initialLimit < 0) {
+			throw new IllegalArgumentException("Concurrency limit must not be negative");
+		}
+		ConcurrencyLimiter limiter = concurrencyLimiter;
+		if (initialLimit == 0) {
+			concurrencyLimiter = null;
+		} else if (limiter == null || limiter.getInitialLimit() != initialLimit) {
+			concurrencyLimiter = new ConcurrencyLimiter(initialLimit);
+		}
+	}
+
+	public void setWeight(int weight) {
+		if (weight <= 0) {
+			throw new IllegalArgumentException("Weight must be positive");
+		}
+		this.weight = weight;
+	}
+
+	public void setCapacity(int capacity) {
+		if (capacity < 0) {
+			throw new IllegalArgumentException("Capacity must not be negative");
+		}
+		this.capacity = capacity;
+	}
+
+	public void setHealthCheckFormat(HealthCheckFormat healthCheckFormat) {
+		if (healthCheckFormat == null) {
+			throw new IllegalArgumentException("Health check format must not be null");
+		}
+		this.healthCheckFormat = healthCheckFormat;
+	}
+
+	/**
+	 * Sequence number for the next binary heartbeat, so a late reply to an earlier round is not
+	 * taken as the answer to the current one.
+	 */
+	public int nextHeartbeatSequence() {
+		return heartbeatSequence.incrementAndGet();
+	}
+
+	public void startSlowStart(long slowStartWindow) {
+		slowStartedAt = System.currentTimeMillis();
+		this.slowStartWindow = slowStartWindow;
+	}
+
+	/**
+	 * Share of its full weight the node should receive right now. Ramps linearly from a small floor
+	 * to 1 over the slow-start window that began when the node was registered.
+	 */
+	public double getSlowStartFactor() {
+		long window = slowStartWindow;
+		if (window <= 0) {
+			return 1;
+		}
+		long elapsed = System.currentTimeMillis() - slowStartedAt;
+		if (elapsed >= window) {
+			slowStartWindow = 0;
+			return 1;
+		}
+		return Math.max(MIN_SLOW_START_FACTOR, (double)elapsed / window);
+	}
+
+	public boolean isOverCapacity() {
+		return capacity != UNLIMITED_CAPACITY && inFlightCount.sum() >= capacity;
+	}
+
+	public void close() {
+	}
+
 	@Override
 	public String toString() {
 		return "Node{" +
 			"ipAddr=" + ipAddr +
 			", port=" + port +
+			", weight=" + weight +
 			", healthCheckPort=" + getHealthCheckPort() +
 			'}';
 	}
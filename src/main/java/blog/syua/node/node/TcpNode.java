@@ -1,31 +1,48 @@
 package blog.syua.node.node;
 
+import java.io.EOFException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.ConnectException;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.Socket;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.springframework.beans.factory.annotation.Value;
 
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import blog.syua.healthcheck.dto.HealthCheckRequest;
 import blog.syua.healthcheck.dto.HealthCheckResponse;
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.healthcheck.heartbeat.HeartbeatCodec;
+import blog.syua.node.pool.BackendConnectionPool;
+import blog.syua.node.pool.ConnectionPoolConfig;
+import blog.syua.node.pool.PooledConnection;
 import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.ObjectMapperUtils;
 import blog.syua.utils.SocketReadUtils;
+import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
 public class TcpNode extends Node {
 
+	private static final int POOL_MIN_IDLE = 0;
+	private static final int POOL_MAX_IDLE = 8;
+	private static final long POOL_MAX_LIFETIME = 60000;
+	private static final long POOL_IDLE_TIMEOUT = 30000;
+	private static final long POOL_EVICT_INTERVAL = 5000;
+
+	@Getter
 	@Value("${loadbalancer.tcp.timeout:5000}")
 	private final int tcpTimeOut = 5000;
 
-	private final ObjectMapper objectMapper = new ObjectMapper();
+	private final ConcurrentHashMap<Integer, BackendConnectionPool> connectionPools = new ConcurrentHashMap<>();
 
 	public TcpNode(InetAddress ipAddr, int port) {
 		super(ipAddr, port);
@@ -48,17 +65,43 @@ public class TcpNode extends Node {
 	}
 
 	public void forwardPacket(Socket clientSocket) {
-		try (InputStream clientInputStream = clientSocket.getInputStream();
-			 OutputStream clientOutputStream = clientSocket.getOutputStream()) {
-			log.info("Forward Client(ip: {}) data to Node - ({} {} {})",
-				clientSocket.getInetAddress(), getProtocol(), getIpAddr(), getPort());
-			byte[] resultData = getResultFromNode(SocketReadUtils.readTcpAllBytes(clientInputStream), getPort());
-			clientOutputStream.write(resultData);
-			clientOutputStream.flush();
+		byte[] forwardData;
+		try {
+			forwardData = SocketReadUtils.readTcpAllBytes(clientSocket.getInputStream());
+		} catch (IOException exception) {
+			log.info("Fail to read client data");
+			sendErrorMessage(clientSocket);
+			return;
+		}
+		try {
+			forwardPacket(clientSocket, forwardData);
+		} catch (ConnectException exception) {
+			log.info("Fail to connect - Node Info: {} {} {}", getProtocol(), getIpAddr(), getPort());
+			sendErrorMessage(clientSocket);
+		}
+	}
+
+	/**
+	 * Forwards data already read from the client and writes the reply back to it. A ConnectException
+	 * means nothing reached the node, so the client socket is left open and the caller may send the
+	 * same data to another node; any other failure is answered here.
+	 */
+	public void forwardPacket(Socket clientSocket, byte[] forwardData) throws ConnectException {
+		log.info("Forward Client(ip: {}) data to Node - ({} {} {})",
+			clientSocket.getInetAddress(), getProtocol(), getIpAddr(), getPort());
+		try {
+			byte[] resultData = forwardToNode(forwardData);
+			try (OutputStream clientOutputStream = clientSocket.getOutputStream()) {
+				clientOutputStream.write(resultData);
+				clientOutputStream.flush();
+			}
 			clientSocket.close();
+		} catch (ConnectException exception) {
+			throw exception;
 		} catch (SocketTimeoutException exception) {
 			log.info("Receive time out - Node Info: {} {} {}", getProtocol(), getIpAddr(), getPort());
-		} catch (Exception exception) {
+			closeClientSocket(clientSocket);
+		} catch (IOException exception) {
 			log.info("Fail to forward packet");
 			exception.printStackTrace();
 			sendErrorMessage(clientSocket);
@@ -66,9 +109,15 @@ public class TcpNode extends Node {
 	}
 
 	private boolean getHealthCheckResult() throws IOException {
-		byte[] resultFromNode = getResultFromNode(objectMapper.writeValueAsBytes(HealthCheckRequest.getInstance()), getHealthCheckPort());
+		if (getHealthCheckFormat() == HealthCheckFormat.BINARY) {
+			return getHeartbeatResult();
+		}
+		byte[] resultFromNode = getResultFromNode(
+			ObjectMapperUtils.getObjectMapper().writeValueAsBytes(HealthCheckRequest.getInstance()),
+			getHealthCheckPort());
 		try {
-			HealthCheckResponse response = objectMapper.readValue(resultFromNode, HealthCheckResponse.class);
+			HealthCheckResponse response = ObjectMapperUtils.getObjectMapper()
+				.readValue(resultFromNode, HealthCheckResponse.class);
 			if (response.getAck().equals(HealthCheckResponse.SUCCESS_ACK)) {
 				return true;
 			}
@@ -79,17 +128,118 @@ public class TcpNode extends Node {
 		return false;
 	}
 
+	private boolean getHeartbeatResult() throws IOException {
+		int sequence = nextHeartbeatSequence();
+		ByteBuffer requestBuffer = ByteBuffer.allocate(HeartbeatCodec.MESSAGE_SIZE);
+		HeartbeatCodec.encodeRequest(requestBuffer, sequence);
+		byte[] resultFromNode = getResultFromNode(requestBuffer.array(), getHealthCheckPort());
+		return HeartbeatCodec.isHealthyReply(ByteBuffer.wrap(resultFromNode), 0, resultFromNode.length, sequence);
+	}
+
+	private byte[] forwardToNode(byte[] forwardData) throws IOException {
+		if (!tryAcquirePermission()) {
+			throw new ConnectException("Node rejected request - Node Info: " + getIpAddr() + " " + getPort());
+		}
+		try {
+			byte[] resultData = getResultFromNode(forwardData, getPort());
+			recordSuccess();
+			return resultData;
+		} catch (IOException exception) {
+			recordFailure();
+			throw exception;
+		}
+	}
+
+	/**
+	 * A reused connection the node has already closed only shows up when the request is written, so
+	 * that write is retried once on a fresh connection. Once the request is written the node may have
+	 * processed it, so a failed read is never retried.
+	 */
 	private byte[] getResultFromNode(byte[] forwardData, int port) throws IOException {
-		try (Socket nodeSocket = new Socket(getIpAddr(), port)) {
-			nodeSocket.setSoTimeout(tcpTimeOut);
-			byte[] resultData;
-			try (InputStream nodeInputStream = nodeSocket.getInputStream();
-				 OutputStream nodeOutputStream = nodeSocket.getOutputStream()) {
-				nodeOutputStream.write(forwardData);
-				nodeOutputStream.flush();
-				resultData = SocketReadUtils.readTcpAllBytes(nodeInputStream);
+		BackendConnectionPool connectionPool = getConnectionPool(port);
+		PooledConnection connection = connect(connectionPool::borrow, port);
+		long startedAt = System.nanoTime();
+		try {
+			send(connection, forwardData);
+		} catch (IOException exception) {
+			connectionPool.release(connection, false);
+			if (!connection.isReused()) {
+				throw exception;
+			}
+			log.info("Retry with new connection - Node Info: {} {} {}", getProtocol(), getIpAddr(), port);
+			connection = connect(
+				() -> PooledConnection.open(new InetSocketAddress(getIpAddr(), port), tcpTimeOut), port);
+			startedAt = System.nanoTime();
+			try {
+				send(connection, forwardData);
+			} catch (IOException retryException) {
+				connectionPool.release(connection, false);
+				throw retryException;
 			}
+		}
+		return receive(connectionPool, connection, port, startedAt);
+	}
+
+	/**
+	 * Nothing has been sent when connecting fails, so the failure is reported as a ConnectException
+	 * whether it was refused or timed out. Only those failures are safe to retry on another node.
+	 */
+	private PooledConnection connect(ConnectionSupplier connectionSupplier, int port) throws IOException {
+		try {
+			return connectionSupplier.get();
+		} catch (ConnectException exception) {
+			throw exception;
+		} catch (IOException exception) {
+			ConnectException connectException = new ConnectException(
+				"Unable to connect - Node Info: " + getIpAddr() + " " + port);
+			connectException.initCause(exception);
+			throw connectException;
+		}
+	}
+
+	private void recordRtt(int port, long startedAt) {
+		if (port == getPort()) {
+			recordRtt(System.nanoTime() - startedAt);
+		}
+	}
+
+	private void send(PooledConnection connection, byte[] forwardData) throws IOException {
+		OutputStream nodeOutputStream = connection.getOutputStream();
+		nodeOutputStream.write(forwardData);
+		nodeOutputStream.flush();
+	}
+
+	private byte[] receive(BackendConnectionPool connectionPool, PooledConnection connection, int port,
+		long startedAt) throws IOException {
+		try {
+			byte[] resultData = SocketReadUtils.readTcpAllBytes(connection.getInputStream());
+			if (resultData.length == 0) {
+				throw new EOFException("Connection closed by node");
+			}
+			connectionPool.release(connection, true);
+			recordRtt(port, startedAt);
 			return resultData;
+		} catch (IOException exception) {
+			connectionPool.release(connection, false);
+			if (exception instanceof SocketTimeoutException) {
+				recordRtt(port, startedAt);
+			}
+			throw exception;
+		}
+	}
+
+	private BackendConnectionPool getConnectionPool(int port) {
+		return connectionPools.computeIfAbsent(port, key -> new BackendConnectionPool(
+			new InetSocketAddress(getIpAddr(), key),
+			new ConnectionPoolConfig(POOL_MIN_IDLE, POOL_MAX_IDLE, POOL_MAX_LIFETIME, POOL_IDLE_TIMEOUT,
+				POOL_EVICT_INTERVAL, tcpTimeOut)));
+	}
+
+	private void closeClientSocket(Socket clientSocket) {
+		try {
+			clientSocket.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing client socket - {}", clientSocket);
 		}
 	}
 
@@ -104,6 +254,12 @@ public class TcpNode extends Node {
 		}
 	}
 
+	@Override
+	public void close() {
+		connectionPools.values().forEach(BackendConnectionPool::close);
+		connectionPools.clear();
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		if (this == object)
@@ -121,4 +277,11 @@ public class TcpNode extends Node {
 		return Objects.hash(super.hashCode(), getPort());
 	}
 
+	@FunctionalInterface
+	private interface ConnectionSupplier {
+
+		PooledConnection get() throws IOException;
+
+	}
+
 }
@@ -4,18 +4,28 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
+import java.net.InetSocketAddress;
 import java.net.SocketTimeoutException;
+import java.nio.ByteBuffer;
 import java.util.Objects;
 
 import org.springframework.beans.factory.annotation.Value;
 
 import com.fasterxml.jackson.core.JsonParseException;
-import com.fasterxml.jackson.databind.ObjectMapper;
 
 import blog.syua.healthcheck.dto.HealthCheckRequest;
 import blog.syua.healthcheck.dto.HealthCheckResponse;
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.healthcheck.heartbeat.HeartbeatCodec;
+import blog.syua.node.flow.DatagramSocketReplySender;
+import blog.syua.node.flow.UdpFlowTable;
+import blog.syua.node.flow.UdpRequest;
+import blog.syua.node.group.nio.NioEventLoopGroup;
 import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.ObjectMapperUtils;
 import blog.syua.utils.SocketReadUtils;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
 import lombok.extern.slf4j.Slf4j;
 
 @Slf4j
@@ -24,7 +34,13 @@ public class UdpNode extends Node {
 	@Value("${loadbalancer.udp.timeout:5000}")
 	public final int timeout = 5000;
 
-	private final ObjectMapper objectMapper = new ObjectMapper();
+	@Value("${loadbalancer.udp.flow-idle-timeout:30000}")
+	private final long flowIdleTimeout = 30000;
+
+	private volatile UdpFlowTable flowTable;
+	private volatile NioEventLoopGroup flowEventLoopGroup;
+	private NioEventLoopGroup ownedEventLoopGroup;
+	private boolean isClosed;
 
 	public UdpNode(InetAddress ipAddr, int port) {
 		super(ipAddr, port);
@@ -35,31 +51,49 @@ public class UdpNode extends Node {
 		return Protocol.UDP;
 	}
 
+	/**
+	 * Flows of this node run on the event loops of its group, which closes them. A node used on its own
+	 * opens a single event loop that is closed with the node.
+	 */
+	public void setFlowEventLoopGroup(NioEventLoopGroup flowEventLoopGroup) {
+		this.flowEventLoopGroup = flowEventLoopGroup;
+	}
+
 	public void forwardPacket(DatagramSocket loadBalancerSocket, DatagramPacket clientPacket) {
+		forwardPacket(loadBalancerSocket, clientPacket, UdpRequest.newInstance());
+	}
+
+	/**
+	 * @return false when the packet could not be sent and the client got the error message instead
+	 */
+	public boolean forwardPacket(DatagramSocket loadBalancerSocket, DatagramPacket clientPacket,
+		UdpRequest request) {
 		try {
-			log.info("Forward Client(ip: {}) data to Node - ({} {} {})",
-				clientPacket.getAddress(), getProtocol(), getIpAddr(), getPort());
-			DatagramSocket nodeSocket = new DatagramSocket();
-			nodeSocket.setSoTimeout(timeout);
-			InetAddress nodeIpAddr = getIpAddr();
-			sendData(nodeSocket, nodeIpAddr, getPort(), clientPacket.getData());
-			DatagramPacket resultPacket = SocketReadUtils.readUdpAllBytes(nodeSocket);
-			sendData(loadBalancerSocket, clientPacket.getAddress(), clientPacket.getPort(),
-				NodeMessageUtil.removeTrailingZeros(resultPacket.getData()));
-		} catch (SocketTimeoutException timeoutException) {
-			log.info("Socket Time Out - (Ip: {}, Port: {})", clientPacket.getAddress(),
-				clientPacket.getPort());
-			sendErrorMessage(loadBalancerSocket, clientPacket);
+			forward(loadBalancerSocket, clientPacket, request);
+			return true;
 		} catch (Exception exception) {
 			exception.printStackTrace();
 			sendErrorMessage(loadBalancerSocket, clientPacket);
 		}
+		return false;
+	}
+
+	public void forward(DatagramSocket loadBalancerSocket, DatagramPacket clientPacket, UdpRequest request) throws
+		IOException {
+		log.debug("Forward Client(ip: {}) data to Node - ({} {} {})",
+			clientPacket.getAddress(), getProtocol(), getIpAddr(), getPort());
+		getFlowTable().forward((InetSocketAddress)clientPacket.getSocketAddress(),
+			ByteBuffer.wrap(clientPacket.getData(), clientPacket.getOffset(), clientPacket.getLength()),
+			new DatagramSocketReplySender(loadBalancerSocket), request);
 	}
 
 	@Override
 	public boolean isHealthy() {
 		try (DatagramSocket socket = new DatagramSocket()) {
 			socket.setSoTimeout(timeout);
+			if (getHealthCheckFormat() == HealthCheckFormat.BINARY) {
+				return getHeartbeatResponse(socket);
+			}
 			return getHealthCheckResponse(socket);
 		} catch (Exception exception) {
 			log.error("Error occur in Health Check");
@@ -69,13 +103,13 @@ public class UdpNode extends Node {
 	}
 
 	private boolean getHealthCheckResponse(DatagramSocket socket) throws IOException {
-		try {
-			byte[] requestMessage = objectMapper.writeValueAsBytes(HealthCheckRequest.getInstance());
+		try (PooledBuffer responseBuffer = BufferPool.heap().acquire(Protocol.UDP.getMaxReceiveSize())) {
+			byte[] requestMessage = ObjectMapperUtils.getObjectMapper()
+				.writeValueAsBytes(HealthCheckRequest.getInstance());
 			sendData(socket, getIpAddr(), getHealthCheckPort(), requestMessage);
-			DatagramPacket responsePacket = SocketReadUtils.readUdpAllBytes(socket);
-			HealthCheckResponse response = objectMapper.readValue(
-				NodeMessageUtil.removeTrailingZeros(responsePacket.getData()),
-				HealthCheckResponse.class);
+			DatagramPacket responsePacket = SocketReadUtils.readUdpAllBytes(socket, responseBuffer);
+			HealthCheckResponse response = ObjectMapperUtils.getObjectMapper().readValue(responsePacket.getData(),
+				responsePacket.getOffset(), responsePacket.getLength(), HealthCheckResponse.class);
 			if (response.getAck().equals(HealthCheckResponse.SUCCESS_ACK)) {
 				return true;
 			}
@@ -88,11 +122,50 @@ public class UdpNode extends Node {
 		return false;
 	}
 
+	private boolean getHeartbeatResponse(DatagramSocket socket) throws IOException {
+		try (PooledBuffer responseBuffer = BufferPool.heap().acquire(Protocol.UDP.getMaxReceiveSize())) {
+			int sequence = nextHeartbeatSequence();
+			ByteBuffer requestBuffer = ByteBuffer.allocate(HeartbeatCodec.MESSAGE_SIZE);
+			HeartbeatCodec.encodeRequest(requestBuffer, sequence);
+			sendData(socket, getIpAddr(), getHealthCheckPort(), requestBuffer.array());
+			DatagramPacket responsePacket = SocketReadUtils.readUdpAllBytes(socket, responseBuffer);
+			return HeartbeatCodec.isHealthyReply(ByteBuffer.wrap(responsePacket.getData()), responsePacket.getOffset(),
+				responsePacket.getLength(), sequence);
+		} catch (SocketTimeoutException exception) {
+			log.info("Receive time out - Node Info: {} {} {}", getProtocol(), getIpAddr(), getPort());
+		}
+		return false;
+	}
+
 	private void sendData(DatagramSocket socket, InetAddress ipAddr, int port, byte[] data) throws IOException {
 		DatagramPacket packet = new DatagramPacket(data, data.length, ipAddr, port);
 		socket.send(packet);
 	}
 
+	private UdpFlowTable getFlowTable() throws IOException {
+		UdpFlowTable table = flowTable;
+		if (table != null) {
+			return table;
+		}
+		synchronized (this) {
+			if (isClosed) {
+				throw new IllegalStateException("Node is closed");
+			}
+			if (flowTable == null) {
+				flowTable = new UdpFlowTable(this, timeout, flowIdleTimeout, getFlowEventLoopGroup());
+			}
+			return flowTable;
+		}
+	}
+
+	private NioEventLoopGroup getFlowEventLoopGroup() throws IOException {
+		if (flowEventLoopGroup != null) {
+			return flowEventLoopGroup;
+		}
+		ownedEventLoopGroup = new NioEventLoopGroup(1, "udp-flow-" + getPort());
+		return ownedEventLoopGroup;
+	}
+
 	private void sendErrorMessage(DatagramSocket loadBalancerSocket, DatagramPacket clientPacket) {
 		try {
 			byte[] errorMessage = NodeMessageUtil.getForwardErrorMessage();
@@ -105,6 +178,19 @@ public class UdpNode extends Node {
 		}
 	}
 
+	@Override
+	public synchronized void close() {
+		isClosed = true;
+		if (flowTable != null) {
+			flowTable.close();
+			flowTable = null;
+		}
+		if (ownedEventLoopGroup != null) {
+			ownedEventLoopGroup.close();
+			ownedEventLoopGroup = null;
+		}
+	}
+
 	@Override
 	public boolean equals(Object object) {
 		if (this == object)
@@ -0,0 +1,85 @@
+package blog.syua.node.outlier;
+
+/**
+ * Passive outlier detection for one node, fed by the outcome of forwarded requests.
+ * The node is ejected after a run of consecutive failures or when the failure rate within the
+ * current interval gets too high. Every ejection in a row doubles the ejection time, and the
+ * back-off is reset once the node answers the same number of requests in a row again.
+ */
+public class OutlierDetector {
+
+	private static final int CONSECUTIVE_FAILURE_THRESHOLD = 5;
+	private static final long INTERVAL = 10000;
+	private static final int MIN_REQUEST_COUNT = 20;
+	private static final int FAILURE_RATE_PERCENT = 50;
+	private static final long BASE_EJECTION_TIME = 1000;
+	private static final long MAX_EJECTION_TIME = 60000;
+
+	private int consecutiveFailureCount;
+	private int consecutiveSuccessCount;
+	private int ejectionCount;
+	private long windowStartedAt;
+	private int windowRequestCount;
+	private int windowFailureCount;
+	private volatile long ejectedUntil;
+
+	public OutlierDetector() {
+		windowStartedAt = System.currentTimeMillis();
+	}
+
+	public boolean isEjected() {
+		long until = ejectedUntil;
+		return until != 0 && System.currentTimeMillis() < until;
+	}
+
+	public synchronized void recordSuccess() {
+		rollWindow(System.currentTimeMillis());
+		windowRequestCount++;
+		consecutiveFailureCount = 0;
+		if (++consecutiveSuccessCount >= CONSECUTIVE_FAILURE_THRESHOLD) {
+			ejectionCount = 0;
+		}
+	}
+
+	/**
+	 * @return ejection time in milliseconds when this failure ejected the node, otherwise 0
+	 */
+	public synchronized long recordFailure() {
+		long now = System.currentTimeMillis();
+		rollWindow(now);
+		windowRequestCount++;
+		windowFailureCount++;
+		consecutiveSuccessCount = 0;
+		consecutiveFailureCount++;
+		if (now < ejectedUntil || !isOutlier()) {
+			return 0;
+		}
+		return eject(now);
+	}
+
+	private boolean isOutlier() {
+		return consecutiveFailureCount >= CONSECUTIVE_FAILURE_THRESHOLD
+			|| (windowRequestCount >= MIN_REQUEST_COUNT
+			&& windowFailureCount * 100L >= (long)windowRequestCount * FAILURE_RATE_PERCENT);
+	}
+
+	private long eject(long now) {
+		long ejectionTime = Math.min(MAX_EJECTION_TIME, BASE_EJECTION_TIME << Math.min(ejectionCount, 20));
+		ejectionCount++;
+		ejectedUntil = now + ejectionTime;
+		consecutiveFailureCount = 0;
+		windowStartedAt = now;
+		windowRequestCount = 0;
+		windowFailureCount = 0;
+		return ejectionTime;
+	}
+
+	private void rollWindow(long now) {
+		if (now - windowStartedAt >= INTERVAL) {
+			windowStartedAt = now;
+			windowRequestCount = 0;
+			windowFailureCount = 0;
+		}
+	}
+
+}
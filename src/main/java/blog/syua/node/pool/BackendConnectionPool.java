@@ -0,0 +1,126 @@
+package blog.syua.node.pool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.concurrent.ConcurrentLinkedDeque;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class BackendConnectionPool implements Closeable {
+
+	private static final ScheduledExecutorService EVICTOR = Executors.newSingleThreadScheduledExecutor(runnable -> {
+		Thread thread = new Thread(runnable, "backend-connection-evictor");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	private final InetSocketAddress address;
+	private final ConnectionPoolConfig config;
+	private final Deque<PooledConnection> idleConnections;
+	private final AtomicInteger idleCount;
+	private final ScheduledFuture<?> evictTask;
+	private volatile boolean isClosed;
+
+	public BackendConnectionPool(InetSocketAddress address, ConnectionPoolConfig config) {
+		this.address = address;
+		this.config = config;
+		idleConnections = new ConcurrentLinkedDeque<>();
+		idleCount = new AtomicInteger();
+		isClosed = false;
+		evictTask = EVICTOR.scheduleWithFixedDelay(this::evict, config.getEvictInterval(), config.getEvictInterval(),
+			TimeUnit.MILLISECONDS);
+	}
+
+	public PooledConnection borrow() throws IOException {
+		long now = System.currentTimeMillis();
+		PooledConnection connection;
+		while ((connection = idleConnections.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			if (!connection.isExpired(now, config.getMaxLifetime()) && connection.isAlive()) {
+				connection.markReused();
+				return connection;
+			}
+			connection.close();
+		}
+		return PooledConnection.open(address, config.getTimeout());
+	}
+
+	public void release(PooledConnection connection, boolean isReusable) {
+		if (!isReusable || isClosed || connection.isExpired(System.currentTimeMillis(), config.getMaxLifetime())) {
+			connection.close();
+			return;
+		}
+		if (idleCount.incrementAndGet() > config.getMaxIdle()) {
+			idleCount.decrementAndGet();
+			connection.close();
+			return;
+		}
+		connection.markIdle();
+		idleConnections.offerFirst(connection);
+		if (isClosed && idleConnections.remove(connection)) {
+			idleCount.decrementAndGet();
+			connection.close();
+		}
+	}
+
+	public int getIdleCount() {
+		return idleCount.get();
+	}
+
+	@Override
+	public void close() {
+		isClosed = true;
+		evictTask.cancel(false);
+		PooledConnection connection;
+		while ((connection = idleConnections.pollFirst()) != null) {
+			idleCount.decrementAndGet();
+			connection.close();
+		}
+		log.info("Close BackendConnectionPool - {}", address);
+	}
+
+	private void evict() {
+		long now = System.currentTimeMillis();
+		Iterator<PooledConnection> iterator = idleConnections.descendingIterator();
+		while (iterator.hasNext()) {
+			PooledConnection connection = iterator.next();
+			boolean isIdleTimeout = idleCount.get() > config.getMinIdle()
+				&& connection.isIdleTimeout(now, config.getIdleTimeout());
+			if ((isIdleTimeout || connection.isExpired(now, config.getMaxLifetime())) && idleConnections.remove(connection)) {
+				idleCount.decrementAndGet();
+				connection.close();
+			}
+		}
+		fillMinIdle();
+	}
+
+	private void fillMinIdle() {
+		int fillCount = Math.min(config.getMinIdle(), config.getMaxIdle()) - idleCount.get();
+		for (int count = 0; count < fillCount && !isClosed; count++) {
+			try {
+				release(PooledConnection.open(address, config.getTimeout()), true);
+			} catch (IOException exception) {
+				log.info("Unable to fill idle connection - {}", address);
+				return;
+			}
+		}
+	}
+
+	@Override
+	public String toString() {
+		return "BackendConnectionPool{" +
+			"address=" + address +
+			", idleCount=" + idleCount.get() +
+			'}';
+	}
+
+}
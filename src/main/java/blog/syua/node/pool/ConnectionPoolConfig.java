@@ -0,0 +1,19 @@
+package blog.syua.node.pool;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+@Getter
+@ToString
+@AllArgsConstructor
+public class ConnectionPoolConfig {
+
+	private final int minIdle;
+	private final int maxIdle;
+	private final long maxLifetime;
+	private final long idleTimeout;
+	private final long evictInterval;
+	private final int timeout;
+
+}
@@ -0,0 +1,91 @@
+package blog.syua.node.pool;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.channels.SocketChannel;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+@Getter
+public class PooledConnection implements Closeable {
+
+	private final SocketChannel channel;
+	private final InputStream inputStream;
+	private final OutputStream outputStream;
+	private final long createdAt;
+	private final ByteBuffer probeBuffer;
+	private long lastUsedAt;
+	private boolean isReused;
+
+	private PooledConnection(SocketChannel channel) throws IOException {
+		this.channel = channel;
+		inputStream = channel.socket().getInputStream();
+		outputStream = channel.socket().getOutputStream();
+		createdAt = System.currentTimeMillis();
+		probeBuffer = ByteBuffer.allocate(1);
+		lastUsedAt = createdAt;
+		isReused = false;
+	}
+
+	public static PooledConnection open(InetSocketAddress address, int timeout) throws IOException {
+		SocketChannel channel = SocketChannel.open();
+		try {
+			channel.socket().connect(address, timeout);
+			channel.socket().setSoTimeout(timeout);
+			channel.socket().setKeepAlive(true);
+			return new PooledConnection(channel);
+		} catch (IOException exception) {
+			channel.close();
+			throw exception;
+		}
+	}
+
+	public boolean isExpired(long now, long maxLifetime) {
+		return now - createdAt >= maxLifetime;
+	}
+
+	public boolean isIdleTimeout(long now, long idleTimeout) {
+		return now - lastUsedAt >= idleTimeout;
+	}
+
+	public boolean isAlive() {
+		if (!channel.isOpen() || !channel.isConnected()) {
+			return false;
+		}
+		synchronized (channel.blockingLock()) {
+			try {
+				channel.configureBlocking(false);
+				probeBuffer.clear();
+				int readSize = channel.read(probeBuffer);
+				channel.configureBlocking(true);
+				return readSize == 0;
+			} catch (IOException exception) {
+				return false;
+			}
+		}
+	}
+
+	void markIdle() {
+		lastUsedAt = System.currentTimeMillis();
+	}
+
+	void markReused() {
+		isReused = true;
+	}
+
+	@Override
+	public void close() {
+		try {
+			channel.close();
+		} catch (IOException exception) {
+			log.error("Error occur in closing pooled connection - {}", channel);
+		}
+	}
+
+}
@@ -0,0 +1,115 @@
+package blog.syua.node.ratelimit;
+
+import java.net.InetAddress;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Token bucket per client IP. Buckets live in a fixed number of independently locked stripes, each
+ * an access-ordered map that evicts its least recently seen client once full, so memory stays
+ * bounded however many addresses show up. An evicted client simply starts again with a full bucket.
+ */
+public class ClientRateLimiter {
+
+	private static final int STRIPE_COUNT = 16;
+	private static final long NANOS_PER_SECOND = TimeUnit.SECONDS.toNanos(1);
+	private static final int MAX_CLIENTS = 65536;
+
+	private final RateLimit rateLimit;
+	private final Stripe[] stripes;
+	private final LongAdder rejectedCount;
+
+	private ClientRateLimiter(RateLimit rateLimit) {
+		this.rateLimit = rateLimit;
+		int maxClientsPerStripe = Math.max(1, MAX_CLIENTS / STRIPE_COUNT);
+		stripes = new Stripe[STRIPE_COUNT];
+		for (int index = 0; index < STRIPE_COUNT; index++) {
+			stripes[index] = new Stripe(maxClientsPerStripe);
+		}
+		rejectedCount = new LongAdder();
+	}
+
+	public static ClientRateLimiter newInstance(RateLimit rateLimit) {
+		if (rateLimit.isUnlimited()) {
+			throw new IllegalArgumentException("Unlimited rate limit needs no limiter");
+		}
+		return new ClientRateLimiter(rateLimit);
+	}
+
+	public RateLimit getRateLimit() {
+		return rateLimit;
+	}
+
+	public boolean tryAcquire(InetAddress clientAddress) {
+		int hash = clientAddress.hashCode();
+		Stripe stripe = stripes[(hash ^ (hash >>> 16)) & (STRIPE_COUNT - 1)];
+		long now = System.nanoTime();
+		synchronized (stripe) {
+			TokenBucket bucket = stripe.buckets.get(clientAddress);
+			if (bucket == null) {
+				bucket = new TokenBucket(rateLimit.getBurst(), now);
+				stripe.buckets.put(clientAddress, bucket);
+			}
+			if (bucket.tryAcquire(now)) {
+				return true;
+			}
+		}
+		rejectedCount.increment();
+		return false;
+	}
+
+	public long getRejectedCount() {
+		return rejectedCount.sum();
+	}
+
+	public int size() {
+		int size = 0;
+		for (Stripe stripe : stripes) {
+			synchronized (stripe) {
+				size += stripe.buckets.size();
+			}
+		}
+		return size;
+	}
+
+	private static class Stripe {
+
+		private final Map<InetAddress, TokenBucket> buckets;
+
+		private Stripe(int maxClients) {
+			buckets = new LinkedHashMap<>(16, 0.75f, true) {
+				@Override
+				protected boolean removeEldestEntry(Map.Entry<InetAddress, TokenBucket> eldest) {
+					return size() > maxClients;
+				}
+			};
+		}
+
+	}
+
+	private class TokenBucket {
+
+		private double tokens;
+		private long refilledAt;
+
+		private TokenBucket(double tokens, long refilledAt) {
+			this.tokens = tokens;
+			this.refilledAt = refilledAt;
+		}
+
+		private boolean tryAcquire(long now) {
+			tokens = Math.min(rateLimit.getBurst(),
+				tokens + (double)(now - refilledAt) * rateLimit.getPermitsPerSecond() / NANOS_PER_SECOND);
+			refilledAt = now;
+			if (tokens < 1) {
+				return false;
+			}
+			tokens--;
+			return true;
+		}
+
+	}
+
+}
@@ -0,0 +1,50 @@
+package blog.syua.node.ratelimit;
+
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+
+/**
+ * Requests per second a single client IP may send to one forwarding port, with a burst allowance.
+ * Zero permits per second means unlimited, and a zero burst defaults to one second's worth of permits.
+ */
+@Getter
+@EqualsAndHashCode
+public class RateLimit {
+
+	private static final RateLimit UNLIMITED = new RateLimit(0, 0);
+
+	private final int permitsPerSecond;
+	private final int burst;
+
+	private RateLimit(int permitsPerSecond, int burst) {
+		this.permitsPerSecond = permitsPerSecond;
+		this.burst = burst;
+	}
+
+	public static RateLimit of(int permitsPerSecond, int burst) {
+		if (permitsPerSecond < 0 || burst < 0) {
+			throw new IllegalArgumentException("Rate limit must not be negative");
+		}
+		if (permitsPerSecond == 0) {
+			return UNLIMITED;
+		}
+		return new RateLimit(permitsPerSecond, burst == 0 ? permitsPerSecond : burst);
+	}
+
+	public static RateLimit unlimited() {
+		return UNLIMITED;
+	}
+
+	public boolean isUnlimited() {
+		return permitsPerSecond == 0;
+	}
+
+	@Override
+	public String toString() {
+		return "RateLimit{" +
+			"permitsPerSecond=" + permitsPerSecond +
+			", burst=" + burst +
+			'}';
+	}
+
+}
@@ -0,0 +1,56 @@
+package blog.syua.node.retry;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Token bucket that caps extra attempts. Each request deposits a fraction of a token and each
+ * extra attempt withdraws a whole one, so extra attempts stay below that fraction of the traffic
+ * once the initial reserve is spent and cannot multiply the load during an outage.
+ * The global instance is shared by every group that retries TCP connects.
+ */
+public class RetryBudget {
+
+	private static final long TOKEN = 1000;
+	private static final int GLOBAL_BUDGET_RATIO_PERCENT = 20;
+	private static final int GLOBAL_MAX_TOKENS = 100;
+	private static final RetryBudget GLOBAL_BUDGET = new RetryBudget(GLOBAL_BUDGET_RATIO_PERCENT, GLOBAL_MAX_TOKENS);
+
+	private final int budgetRatioPercent;
+	private final int maxTokens;
+	private final AtomicLong tokens;
+
+	public RetryBudget(int budgetRatioPercent, int maxTokens) {
+		this.budgetRatioPercent = budgetRatioPercent;
+		this.maxTokens = maxTokens;
+		tokens = new AtomicLong(maxTokens * TOKEN);
+	}
+
+	public static RetryBudget global() {
+		return GLOBAL_BUDGET;
+	}
+
+	public void deposit() {
+		long deposit = TOKEN * budgetRatioPercent / 100;
+		long current;
+		while ((current = tokens.get()) < maxTokens * TOKEN) {
+			if (tokens.compareAndSet(current, Math.min(maxTokens * TOKEN, current + deposit))) {
+				return;
+			}
+		}
+	}
+
+	public boolean tryWithdraw() {
+		long current;
+		while ((current = tokens.get()) >= TOKEN) {
+			if (tokens.compareAndSet(current, current - TOKEN)) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	public double getBalance() {
+		return (double)tokens.get() / TOKEN;
+	}
+
+}
@@ -0,0 +1,73 @@
+package blog.syua.utils;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Fixed-size thread pool behind a bounded admission queue. Each task remembers when it was queued;
+ * a task that finds the queue full, or that waited longer than the deadline before a thread picked
+ * it up, is shed: its shed handler runs instead, so the client gets a fast answer rather than a late one.
+ */
+@Slf4j
+public class AdmissionThreadPool extends ThreadPoolExecutor {
+
+	private final long deadlineNanos;
+	private final LongAdder shedCount;
+
+	public AdmissionThreadPool(int threadPoolSize, int queueCapacity, long deadline) {
+		super(threadPoolSize, threadPoolSize, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity));
+		deadlineNanos = TimeUnit.MILLISECONDS.toNanos(deadline);
+		shedCount = new LongAdder();
+	}
+
+	public void execute(Runnable task, Runnable shedHandler) {
+		try {
+			execute(new AdmissionTask(task, shedHandler, System.nanoTime()));
+		} catch (RejectedExecutionException exception) {
+			shed(shedHandler, "Admission queue is full");
+		}
+	}
+
+	public int getQueueDepth() {
+		return getQueue().size();
+	}
+
+	public long getShedCount() {
+		return shedCount.sum();
+	}
+
+	private void shed(Runnable shedHandler, String reason) {
+		shedCount.increment();
+		log.debug("Shed request - {}", reason);
+		shedHandler.run();
+	}
+
+	private class AdmissionTask implements Runnable {
+
+		private final Runnable task;
+		private final Runnable shedHandler;
+		private final long enqueuedAt;
+
+		private AdmissionTask(Runnable task, Runnable shedHandler, long enqueuedAt) {
+			this.task = task;
+			this.shedHandler = shedHandler;
+			this.enqueuedAt = enqueuedAt;
+		}
+
+		@Override
+		public void run() {
+			if (System.nanoTime() - enqueuedAt > deadlineNanos) {
+				shed(shedHandler, "Deadline exceeded in admission queue");
+				return;
+			}
+			task.run();
+		}
+
+	}
+
+}
@@ -0,0 +1,92 @@
+package blog.syua.utils;
+
+import java.io.IOException;
+import java.net.DatagramSocket;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.StandardSocketOptions;
+import java.nio.channels.DatagramChannel;
+import java.nio.channels.NetworkChannel;
+import java.nio.channels.ServerSocketChannel;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class ListenSocketUtils {
+
+	public static final int DEFAULT_LISTENER_COUNT = 1;
+
+	private static final boolean IS_REUSE_PORT_SUPPORTED = checkReusePortSupported();
+
+	private ListenSocketUtils() {
+	}
+
+	public static int getListenerCount(int requestedCount) {
+		if (requestedCount <= 1) {
+			return 1;
+		}
+		if (!IS_REUSE_PORT_SUPPORTED) {
+			log.warn("SO_REUSEPORT is not supported, use single listener instead of {}", requestedCount);
+			return 1;
+		}
+		return requestedCount;
+	}
+
+	public static ServerSocket openServerSocket(int port, boolean isReusePort) throws IOException {
+		ServerSocket serverSocket = new ServerSocket();
+		try {
+			if (isReusePort) {
+				serverSocket.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+			}
+			serverSocket.bind(new InetSocketAddress(port));
+			return serverSocket;
+		} catch (IOException exception) {
+			serverSocket.close();
+			throw exception;
+		}
+	}
+
+	public static DatagramSocket openDatagramSocket(int port, boolean isReusePort) throws IOException {
+		DatagramSocket datagramSocket = new DatagramSocket(null);
+		try {
+			if (isReusePort) {
+				datagramSocket.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+			}
+			datagramSocket.bind(new InetSocketAddress(port));
+			return datagramSocket;
+		} catch (IOException exception) {
+			datagramSocket.close();
+			throw exception;
+		}
+	}
+
+	public static ServerSocketChannel openServerSocketChannel(int port, boolean isReusePort) throws IOException {
+		return bind(ServerSocketChannel.open(), port, isReusePort);
+	}
+
+	public static DatagramChannel openDatagramChannel(int port, boolean isReusePort) throws IOException {
+		return bind(DatagramChannel.open(), port, isReusePort);
+	}
+
+	private static <T extends NetworkChannel> T bind(T channel, int port, boolean isReusePort) throws IOException {
+		try {
+			if (isReusePort) {
+				channel.setOption(StandardSocketOptions.SO_REUSEPORT, true);
+			}
+			channel.bind(new InetSocketAddress(port));
+			return channel;
+		} catch (IOException exception) {
+			channel.close();
+			throw exception;
+		}
+	}
+
+	private static boolean checkReusePortSupported() {
+		try (ServerSocketChannel channel = ServerSocketChannel.open()) {
+			return channel.supportedOptions().contains(StandardSocketOptions.SO_REUSEPORT);
+		} catch (IOException exception) {
+			return false;
+		}
+	}
+
+}
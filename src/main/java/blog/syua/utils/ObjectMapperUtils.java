@@ -0,0 +1,20 @@
+package blog.syua.utils;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+/**
+ * Shares one ObjectMapper across the application. It is thread-safe once configured, and building
+ * one per node or per connection repeats the same costly setup.
+ */
+public class ObjectMapperUtils {
+
+	private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+
+	private ObjectMapperUtils() {
+	}
+
+	public static ObjectMapper getObjectMapper() {
+		return OBJECT_MAPPER;
+	}
+
+}
@@ -4,10 +4,11 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
-import java.nio.ByteBuffer;
 import java.util.Arrays;
 
 import blog.syua.node.node.Protocol;
+import blog.syua.utils.buffer.BufferPool;
+import blog.syua.utils.buffer.PooledBuffer;
 
 public class SocketReadUtils {
 
@@ -15,28 +16,25 @@ public class SocketReadUtils {
 	}
 
 	public static byte[] readTcpAllBytes(InputStream inputStream) throws IOException {
-		byte[] buffer = new byte[Protocol.TCP.getMaxReceiveSize()];
-		ByteBuffer byteBuffer = ByteBuffer.allocate(Protocol.TCP.getMaxReceiveSize());
-		int readSize;
-		while ((readSize = inputStream.read(buffer)) == buffer.length) {
-			putToByteBuffer(byteBuffer, buffer, readSize);
+		try (PooledBuffer pooledBuffer = BufferPool.heap().acquire(Protocol.TCP.getMaxReceiveSize())) {
+			byte[] buffer = pooledBuffer.array();
+			int offset = pooledBuffer.arrayOffset();
+			int readSize = inputStream.read(buffer, offset, pooledBuffer.getBuffer().limit());
+			if (readSize <= 0) {
+				return new byte[0];
+			}
+			return Arrays.copyOfRange(buffer, offset, offset + readSize);
 		}
-		putToByteBuffer(byteBuffer, buffer, readSize);
-		byte[] returnBytes = NodeMessageUtil.removeTrailingZeros(byteBuffer.array());
-		byteBuffer.clear();
-		return returnBytes;
 	}
 
-	public static DatagramPacket readUdpAllBytes(DatagramSocket socket) throws IOException {
-		DatagramPacket resultPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
-			Protocol.UDP.getMaxReceiveSize());
+	public static DatagramPacket readUdpAllBytes(DatagramSocket socket, PooledBuffer pooledBuffer) throws IOException {
+		DatagramPacket resultPacket = newDatagramPacket(pooledBuffer);
 		socket.receive(resultPacket);
 		return resultPacket;
 	}
 
-	private static void putToByteBuffer(ByteBuffer byteBuffer, byte[] buffer, int length) {
-		byteBuffer.put(buffer, 0, length);
-		Arrays.fill(buffer, (byte)0);
+	public static DatagramPacket newDatagramPacket(PooledBuffer pooledBuffer) {
+		return new DatagramPacket(pooledBuffer.array(), pooledBuffer.arrayOffset(), pooledBuffer.getBuffer().limit());
 	}
 
 }
@@ -0,0 +1,189 @@
+package blog.syua.utils.buffer;
+
+import java.lang.ref.Cleaner;
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+import lombok.extern.slf4j.Slf4j;
+
+@Slf4j
+public class BufferPool {
+
+	private static final int[] SIZE_CLASSES = {4096, 16384, 65536};
+	private static final int THREAD_LOCAL_CACHE_SIZE = 8;
+	private static final int SHARED_CACHE_SIZE = 256;
+	private static final int LEAK_DETECTION_INTERVAL = 64;
+	private static final Cleaner CLEANER = Cleaner.create();
+	private static final BufferPool HEAP_POOL = new BufferPool(false);
+	private static final BufferPool DIRECT_POOL = new BufferPool(true);
+
+	private final boolean isDirect;
+	private final SizeClass[] sizeClasses;
+	private final ThreadLocal<ThreadCache> threadCaches;
+	private final AtomicLong acquireCount;
+	private final LongAdder leakCount;
+
+	private BufferPool(boolean isDirect) {
+		this.isDirect = isDirect;
+		sizeClasses = new SizeClass[SIZE_CLASSES.length];
+		for (int index = 0; index < SIZE_CLASSES.length; index++) {
+			sizeClasses[index] = new SizeClass(SIZE_CLASSES[index]);
+		}
+		threadCaches = ThreadLocal.withInitial(ThreadCache::new);
+		acquireCount = new AtomicLong();
+		leakCount = new LongAdder();
+	}
+
+	public static BufferPool heap() {
+		return HEAP_POOL;
+	}
+
+	public static BufferPool direct() {
+		return DIRECT_POOL;
+	}
+
+	public PooledBuffer acquire(int size) {
+		int sizeClassIndex = getSizeClassIndex(size);
+		ByteBuffer buffer = null;
+		if (sizeClassIndex >= 0) {
+			buffer = threadCaches.get().poll(sizeClassIndex);
+			if (buffer == null) {
+				buffer = sizeClasses[sizeClassIndex].poll();
+			}
+		}
+		if (buffer == null) {
+			buffer = allocate(sizeClassIndex >= 0 ? SIZE_CLASSES[sizeClassIndex] : size);
+		}
+		buffer.clear().limit(size);
+		return new PooledBuffer(this, buffer, sizeClassIndex, newLeakTracker());
+	}
+
+	public long getLeakCount() {
+		return leakCount.sum();
+	}
+
+	void recycle(ByteBuffer buffer, int sizeClassIndex) {
+		if (sizeClassIndex < 0) {
+			return;
+		}
+		if (!threadCaches.get().offer(sizeClassIndex, buffer)) {
+			sizeClasses[sizeClassIndex].offer(buffer);
+		}
+	}
+
+	private ByteBuffer allocate(int size) {
+		if (isDirect) {
+			return ByteBuffer.allocateDirect(size);
+		}
+		return ByteBuffer.allocate(size);
+	}
+
+	private int getSizeClassIndex(int size) {
+		for (int index = 0; index < SIZE_CLASSES.length; index++) {
+			if (size <= SIZE_CLASSES[index]) {
+				return index;
+			}
+		}
+		return -1;
+	}
+
+	private LeakTracker newLeakTracker() {
+		if (acquireCount.incrementAndGet() % LEAK_DETECTION_INTERVAL != 0) {
+			return null;
+		}
+		return new LeakTracker(leakCount, new Throwable("Buffer acquired by " + Thread.currentThread().getName()));
+	}
+
+	private static class SizeClass {
+
+		private final int size;
+		private final Queue<ByteBuffer> buffers;
+		private final AtomicInteger count;
+
+		private SizeClass(int size) {
+			this.size = size;
+			buffers = new ConcurrentLinkedQueue<>();
+			count = new AtomicInteger();
+		}
+
+		private ByteBuffer poll() {
+			ByteBuffer buffer = buffers.poll();
+			if (buffer != null) {
+				count.decrementAndGet();
+			}
+			return buffer;
+		}
+
+		private void offer(ByteBuffer buffer) {
+			if (count.incrementAndGet() > SHARED_CACHE_SIZE) {
+				count.decrementAndGet();
+				return;
+			}
+			buffers.offer(buffer);
+		}
+
+	}
+
+	private static class ThreadCache {
+
+		private final ArrayDeque<ByteBuffer>[] buffers;
+
+		@SuppressWarnings("unchecked")
+		private ThreadCache() {
+			buffers = new ArrayDeque[SIZE_CLASSES.length];
+			for (int index = 0; index < SIZE_CLASSES.length; index++) {
+				buffers[index] = new ArrayDeque<>(THREAD_LOCAL_CACHE_SIZE);
+			}
+		}
+
+		private ByteBuffer poll(int sizeClassIndex) {
+			return buffers[sizeClassIndex].pollFirst();
+		}
+
+		private boolean offer(int sizeClassIndex, ByteBuffer buffer) {
+			if (buffers[sizeClassIndex].size() >= THREAD_LOCAL_CACHE_SIZE) {
+				return false;
+			}
+			return buffers[sizeClassIndex].offerFirst(buffer);
+		}
+
+	}
+
+	static class LeakTracker implements Runnable {
+
+		private final LongAdder leakCount;
+		private final Throwable acquiredAt;
+		private volatile boolean isReleased;
+		private Cleaner.Cleanable cleanable;
+
+		private LeakTracker(LongAdder leakCount, Throwable acquiredAt) {
+			this.leakCount = leakCount;
+			this.acquiredAt = acquiredAt;
+			isReleased = false;
+		}
+
+		void track(Object referent) {
+			cleanable = CLEANER.register(referent, this);
+		}
+
+		void release() {
+			isReleased = true;
+			cleanable.clean();
+		}
+
+		@Override
+		public void run() {
+			if (!isReleased) {
+				leakCount.increment();
+				log.warn("Buffer was garbage collected without release", acquiredAt);
+			}
+		}
+
+	}
+
+}
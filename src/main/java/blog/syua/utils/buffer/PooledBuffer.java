@@ -0,0 +1,51 @@
+package blog.syua.utils.buffer;
+
+import java.nio.ByteBuffer;
+
+import lombok.Getter;
+
+public class PooledBuffer implements AutoCloseable {
+
+	private final BufferPool bufferPool;
+	@Getter
+	private final ByteBuffer buffer;
+	private final int sizeClassIndex;
+	private final BufferPool.LeakTracker leakTracker;
+	private boolean isReleased;
+
+	PooledBuffer(BufferPool bufferPool, ByteBuffer buffer, int sizeClassIndex, BufferPool.LeakTracker leakTracker) {
+		this.bufferPool = bufferPool;
+		this.buffer = buffer;
+		this.sizeClassIndex = sizeClassIndex;
+		this.leakTracker = leakTracker;
+		isReleased = false;
+		if (leakTracker != null) {
+			leakTracker.track(this);
+		}
+	}
+
+	public byte[] array() {
+		return buffer.array();
+	}
+
+	public int arrayOffset() {
+		return buffer.arrayOffset();
+	}
+
+	public void release() {
+		if (isReleased) {
+			return;
+		}
+		isReleased = true;
+		if (leakTracker != null) {
+			leakTracker.release();
+		}
+		bufferPool.recycle(buffer, sizeClassIndex);
+	}
+
+	@Override
+	public void close() {
+		release();
+	}
+
+}
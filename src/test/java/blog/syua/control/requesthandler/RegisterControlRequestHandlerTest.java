@@ -19,6 +19,7 @@ import blog.syua.control.dto.ControlRequest;
 import blog.syua.control.dto.ControlResponse;
 import blog.syua.control.dto.ControlSuccessResponse;
 import blog.syua.node.groupmanager.NodeGroupManager;
+import blog.syua.node.groupmanager.RegisterOption;
 import blog.syua.node.node.Protocol;
 
 @DisplayName("RegisterControlRequestHandler 테스트")
@@ -54,7 +55,8 @@ class RegisterControlRequestHandlerTest {
 		void returnControlSuccessResponse() throws IOException {
 		    //given
 			ControlRequest controlRequest = new ControlRequest(ControlType.REGISTER, Protocol.TCP, 0);
-			doNothing().when(mockedNodeGroupManager).registerNode(same(Protocol.TCP), any(InetAddress.class), anyInt());
+			doNothing().when(mockedNodeGroupManager).registerNode(same(Protocol.TCP), any(InetAddress.class), anyInt(),
+				any(RegisterOption.class));
 
 		    //when
 			ControlResponse response = registerControlRequestHandler.handleRequest(controlRequest,
@@ -69,7 +71,8 @@ class RegisterControlRequestHandlerTest {
 		void returnControlFailResponse() throws IOException {
 		    //given
 			ControlRequest controlRequest = new ControlRequest(ControlType.REGISTER, Protocol.TCP, 0);
-			doThrow(new IOException()).when(mockedNodeGroupManager).registerNode(same(Protocol.TCP), any(InetAddress.class), anyInt());
+			doThrow(new IOException()).when(mockedNodeGroupManager).registerNode(same(Protocol.TCP), any(InetAddress.class), anyInt(),
+				any(RegisterOption.class));
 
 		    //when
 			ControlResponse response = registerControlRequestHandler.handleRequest(controlRequest,
@@ -0,0 +1,92 @@
+package blog.syua.healthcheck.heartbeat;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("HeartbeatCodec 테스트")
+class HeartbeatCodecTest {
+
+	private ByteBuffer buffer;
+
+	@BeforeEach
+	void beforeEach() {
+		buffer = ByteBuffer.allocate(HeartbeatCodec.MESSAGE_SIZE);
+	}
+
+	@Nested
+	@DisplayName("Method: encode")
+	class MethodEncode {
+		@Test
+		@DisplayName("고정 크기 메시지로 인코딩하고 같은 값으로 디코딩한다")
+		void encodeAndDecode() {
+			//given
+			HeartbeatCodec.encode(buffer, 7, HeartbeatCodec.STATUS_HEALTHY, 42);
+
+			//when
+			//then
+			assertThat(buffer.position()).isEqualTo(HeartbeatCodec.MESSAGE_SIZE);
+			assertThat(HeartbeatCodec.isHeartbeat(buffer, 0, buffer.position())).isTrue();
+			assertThat(HeartbeatCodec.getSequence(buffer, 0)).isEqualTo(7);
+			assertThat(HeartbeatCodec.getStatus(buffer, 0)).isEqualTo(HeartbeatCodec.STATUS_HEALTHY);
+			assertThat(HeartbeatCodec.getLoad(buffer, 0)).isEqualTo(42);
+		}
+
+		@Test
+		@DisplayName("부하 값이 없으면 NO_LOAD로 디코딩한다")
+		void encodeWithoutLoad() {
+			//given
+			HeartbeatCodec.encodeRequest(buffer, 1);
+
+			//when
+			//then
+			assertThat(HeartbeatCodec.getStatus(buffer, 0)).isEqualTo(HeartbeatCodec.STATUS_REQUEST);
+			assertThat(HeartbeatCodec.getLoad(buffer, 0)).isEqualTo(HeartbeatCodec.NO_LOAD);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: isHealthyReply")
+	class MethodIsHealthyReply {
+		@Test
+		@DisplayName("요청과 같은 순번의 정상 응답만 성공으로 판단한다")
+		void matchSequence() {
+			//given
+			HeartbeatCodec.encode(buffer, 3, HeartbeatCodec.STATUS_HEALTHY, HeartbeatCodec.NO_LOAD);
+
+			//when
+			//then
+			assertThat(HeartbeatCodec.isHealthyReply(buffer, 0, HeartbeatCodec.MESSAGE_SIZE, 3)).isTrue();
+			assertThat(HeartbeatCodec.isHealthyReply(buffer, 0, HeartbeatCodec.MESSAGE_SIZE, 2)).isFalse();
+		}
+
+		@Test
+		@DisplayName("비정상 상태이거나 길이가 부족하면 실패로 판단한다")
+		void rejectUnhealthyOrShortReply() {
+			//given
+			HeartbeatCodec.encode(buffer, 3, HeartbeatCodec.STATUS_UNHEALTHY, HeartbeatCodec.NO_LOAD);
+
+			//when
+			//then
+			assertThat(HeartbeatCodec.isHealthyReply(buffer, 0, HeartbeatCodec.MESSAGE_SIZE, 3)).isFalse();
+			assertThat(HeartbeatCodec.isHealthyReply(buffer, 0, HeartbeatCodec.MESSAGE_SIZE - 1, 3)).isFalse();
+		}
+
+		@Test
+		@DisplayName("매직 넘버가 다르면 하트비트로 인식하지 않는다")
+		void rejectJsonMessage() {
+			//given
+			ByteBuffer jsonBuffer = ByteBuffer.wrap("{\"ack\":\"success\"}".getBytes());
+
+			//when
+			//then
+			assertThat(HeartbeatCodec.isHeartbeat(jsonBuffer, 0, jsonBuffer.limit())).isFalse();
+		}
+	}
+
+}
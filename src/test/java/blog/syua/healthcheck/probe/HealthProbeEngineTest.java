@@ -0,0 +1,297 @@
+package blog.syua.healthcheck.probe;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.healthcheck.dto.HealthCheckResponse;
+import blog.syua.healthcheck.heartbeat.HealthCheckFormat;
+import blog.syua.healthcheck.heartbeat.HeartbeatCodec;
+import blog.syua.node.node.Node;
+import blog.syua.node.node.TcpNode;
+import blog.syua.node.node.UdpNode;
+import blog.syua.utils.ObjectMapperUtils;
+import blog.syua.utils.SocketReadUtils;
+
+@DisplayName("HealthProbeEngine 테스트")
+class HealthProbeEngineTest {
+
+	private static final long PROBE_INTERVAL = 100;
+	private static final long PROBE_TIMEOUT = 300;
+	private static int HEALTH_CHECK_PORT = 40200;
+
+	private HealthProbeEngine healthProbeEngine;
+	private List<Closeable> healthServers;
+	private AtomicInteger probeCount;
+	private CountDownLatch unHealthyLatch;
+
+	@BeforeEach
+	void beforeEach() {
+		HEALTH_CHECK_PORT += 1;
+		healthProbeEngine = HealthProbeEngine.newInstance(1, PROBE_TIMEOUT);
+		healthServers = new ArrayList<>();
+		probeCount = new AtomicInteger();
+		unHealthyLatch = new CountDownLatch(1);
+	}
+
+	@AfterEach
+	void afterEach() throws IOException {
+		healthProbeEngine.close();
+		for (Closeable healthServer : healthServers) {
+			healthServer.close();
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: start")
+	class MethodStart {
+		@Test
+		@DisplayName("TCP 노드가 정상 응답하면 주기적으로 헬스체크를 반복한다")
+		void repeatProbeOnHealthyTcpNode() throws IOException, InterruptedException {
+			//given
+			startTcpHealthServer(true);
+			Node node = getTcpNode();
+
+			//when
+			HealthProbe healthProbe = healthProbeEngine.start(node, PROBE_INTERVAL,
+				unHealthyNode -> unHealthyLatch.countDown());
+			Thread.sleep(1000);
+
+			//then
+			assertThat(probeCount.get()).isGreaterThanOrEqualTo(2);
+			assertThat(unHealthyLatch.getCount()).isEqualTo(1);
+			healthProbe.cancel();
+		}
+
+		@Test
+		@DisplayName("UDP 노드가 정상 응답하면 주기적으로 헬스체크를 반복한다")
+		void repeatProbeOnHealthyUdpNode() throws IOException, InterruptedException {
+			//given
+			startUdpHealthServer(true);
+			Node node = getUdpNode();
+
+			//when
+			HealthProbe healthProbe = healthProbeEngine.start(node, PROBE_INTERVAL,
+				unHealthyNode -> unHealthyLatch.countDown());
+			Thread.sleep(1000);
+
+			//then
+			assertThat(probeCount.get()).isGreaterThanOrEqualTo(2);
+			assertThat(unHealthyLatch.getCount()).isEqualTo(1);
+			healthProbe.cancel();
+		}
+
+		@Test
+		@DisplayName("응답이 제한 시간 안에 오지 않으면 노드를 비정상으로 판단한다")
+		void reportUnHealthyOnTimeout() throws IOException, InterruptedException {
+			//given
+			startUdpHealthServer(false);
+			Node node = getUdpNode();
+
+			//when
+			healthProbeEngine.start(node, PROBE_INTERVAL, unHealthyNode -> unHealthyLatch.countDown());
+
+			//then
+			assertThat(unHealthyLatch.await(2, TimeUnit.SECONDS)).isTrue();
+			assertThat(probeCount.get()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("비정상 응답을 받으면 콜백에 노드를 한 번만 전달하고 헬스체크를 중단한다")
+		void reportUnHealthyNodeOnce() throws IOException, InterruptedException {
+			//given
+			startTcpHealthServer(false);
+			Node node = getTcpNode();
+			List<Node> unHealthyNodes = new CopyOnWriteArrayList<>();
+
+			//when
+			healthProbeEngine.start(node, PROBE_INTERVAL, unHealthyNode -> {
+				unHealthyNodes.add(unHealthyNode);
+				unHealthyLatch.countDown();
+			});
+			unHealthyLatch.await(2, TimeUnit.SECONDS);
+			Thread.sleep(500);
+
+			//then
+			assertThat(unHealthyNodes).containsExactly(node);
+			assertThat(probeCount.get()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("TCP JSON 응답이 여러 번에 나뉘어 도착해도 전체 응답으로 판단한다")
+		void judgeSplitJsonResponse() throws IOException, InterruptedException {
+			//given
+			startSplitTcpHealthServer(false);
+			Node node = getTcpNode();
+
+			//when
+			HealthProbe healthProbe = healthProbeEngine.start(node, PROBE_INTERVAL,
+				unHealthyNode -> unHealthyLatch.countDown());
+			Thread.sleep(1000);
+
+			//then
+			assertThat(probeCount.get()).isGreaterThanOrEqualTo(2);
+			assertThat(unHealthyLatch.getCount()).isEqualTo(1);
+			healthProbe.cancel();
+		}
+
+		@Test
+		@DisplayName("TCP 하트비트 응답이 여러 번에 나뉘어 도착해도 전체 응답으로 판단한다")
+		void judgeSplitHeartbeatResponse() throws IOException, InterruptedException {
+			//given
+			startSplitTcpHealthServer(true);
+			Node node = getTcpNode();
+			node.setHealthCheckFormat(HealthCheckFormat.BINARY);
+
+			//when
+			HealthProbe healthProbe = healthProbeEngine.start(node, PROBE_INTERVAL,
+				unHealthyNode -> unHealthyLatch.countDown());
+			Thread.sleep(1000);
+
+			//then
+			assertThat(probeCount.get()).isGreaterThanOrEqualTo(2);
+			assertThat(unHealthyLatch.getCount()).isEqualTo(1);
+			healthProbe.cancel();
+		}
+	}
+
+	private Node getTcpNode() {
+		return new TcpNode(InetAddress.getLoopbackAddress(), HEALTH_CHECK_PORT + 100) {
+			@Override
+			public int getHealthCheckPort() {
+				return HEALTH_CHECK_PORT;
+			}
+		};
+	}
+
+	private Node getUdpNode() {
+		return new UdpNode(InetAddress.getLoopbackAddress(), HEALTH_CHECK_PORT + 100) {
+			@Override
+			public int getHealthCheckPort() {
+				return HEALTH_CHECK_PORT;
+			}
+		};
+	}
+
+	private void startTcpHealthServer(boolean isHealthy) throws IOException {
+		ServerSocket serverSocket = new ServerSocket(HEALTH_CHECK_PORT, 50, InetAddress.getLoopbackAddress());
+		healthServers.add(serverSocket);
+		new Thread(() -> {
+			try {
+				while (!serverSocket.isClosed()) {
+					try (Socket clientSocket = serverSocket.accept()) {
+						InputStream inputStream = clientSocket.getInputStream();
+						SocketReadUtils.readTcpAllBytes(inputStream);
+						probeCount.incrementAndGet();
+						OutputStream outputStream = clientSocket.getOutputStream();
+						outputStream.write(getResponseMessage(isHealthy));
+						outputStream.flush();
+					}
+				}
+			} catch (IOException exception) {
+				if (!serverSocket.isClosed()) {
+					throw new RuntimeException(exception);
+				}
+			}
+		}).start();
+	}
+
+	/**
+	 * Sends a healthy reply in two writes with a pause in between, then keeps the connection open
+	 * until the probe closes it.
+	 */
+	private void startSplitTcpHealthServer(boolean isBinary) throws IOException {
+		ServerSocket serverSocket = new ServerSocket(HEALTH_CHECK_PORT, 50, InetAddress.getLoopbackAddress());
+		healthServers.add(serverSocket);
+		new Thread(() -> {
+			try {
+				while (!serverSocket.isClosed()) {
+					try (Socket clientSocket = serverSocket.accept()) {
+						InputStream inputStream = clientSocket.getInputStream();
+						byte[] responseMessage = isBinary ? getHeartbeatResponse(inputStream.readNBytes(
+							HeartbeatCodec.MESSAGE_SIZE)) : getResponseMessage(true);
+						if (!isBinary) {
+							SocketReadUtils.readTcpAllBytes(inputStream);
+						}
+						probeCount.incrementAndGet();
+						OutputStream outputStream = clientSocket.getOutputStream();
+						int half = responseMessage.length / 2;
+						outputStream.write(responseMessage, 0, half);
+						outputStream.flush();
+						Thread.sleep(50);
+						outputStream.write(responseMessage, half, responseMessage.length - half);
+						outputStream.flush();
+						inputStream.readAllBytes();
+					} catch (InterruptedException exception) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+				}
+			} catch (IOException exception) {
+				if (!serverSocket.isClosed()) {
+					throw new RuntimeException(exception);
+				}
+			}
+		}).start();
+	}
+
+	private void startUdpHealthServer(boolean isResponding) throws IOException {
+		DatagramSocket serverSocket = new DatagramSocket(HEALTH_CHECK_PORT, InetAddress.getLoopbackAddress());
+		healthServers.add(serverSocket);
+		new Thread(() -> {
+			try {
+				while (!serverSocket.isClosed()) {
+					DatagramPacket requestPacket = new DatagramPacket(new byte[1024], 1024);
+					serverSocket.receive(requestPacket);
+					probeCount.incrementAndGet();
+					if (isResponding) {
+						byte[] responseMessage = getResponseMessage(true);
+						serverSocket.send(new DatagramPacket(responseMessage, responseMessage.length,
+							requestPacket.getSocketAddress()));
+					}
+				}
+			} catch (IOException exception) {
+				if (!serverSocket.isClosed()) {
+					throw new RuntimeException(exception);
+				}
+			}
+		}).start();
+	}
+
+	private byte[] getHeartbeatResponse(byte[] request) {
+		ByteBuffer response = ByteBuffer.allocate(HeartbeatCodec.MESSAGE_SIZE);
+		HeartbeatCodec.encode(response, HeartbeatCodec.getSequence(ByteBuffer.wrap(request), 0),
+			HeartbeatCodec.STATUS_HEALTHY, HeartbeatCodec.NO_LOAD);
+		return response.array();
+	}
+
+	private byte[] getResponseMessage(boolean isHealthy) throws IOException {
+		HealthCheckResponse response = new HealthCheckResponse();
+		if (isHealthy) {
+			response.setHealthy();
+		}
+		return ObjectMapperUtils.getObjectMapper().writeValueAsBytes(response);
+	}
+
+}
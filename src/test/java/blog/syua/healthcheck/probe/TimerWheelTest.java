@@ -0,0 +1,76 @@
+package blog.syua.healthcheck.probe;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("TimerWheel 테스트")
+class TimerWheelTest {
+
+	private TimerWheel timerWheel;
+	private AtomicInteger firedCount;
+
+	@BeforeEach
+	void beforeEach() {
+		timerWheel = new TimerWheel(10, 8);
+		firedCount = new AtomicInteger();
+	}
+
+	@Nested
+	@DisplayName("Method: advance")
+	class MethodAdvance {
+		@Test
+		@DisplayName("기한이 지난 타이머만 실행한다")
+		void fireExpiredTimer() throws InterruptedException {
+			//given
+			timerWheel.schedule(firedCount::incrementAndGet, 20);
+			timerWheel.schedule(firedCount::incrementAndGet, 1000);
+
+			//when
+			Thread.sleep(100);
+			timerWheel.advance();
+
+			//then
+			assertThat(firedCount.get()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("휠 한 바퀴보다 긴 타이머는 해당 바퀴가 될 때까지 실행하지 않는다")
+		void waitForRounds() throws InterruptedException {
+			//given
+			timerWheel.schedule(firedCount::incrementAndGet, 150);
+
+			//when
+			Thread.sleep(100);
+			timerWheel.advance();
+			int firedBeforeDeadline = firedCount.get();
+			Thread.sleep(100);
+			timerWheel.advance();
+
+			//then
+			assertThat(firedBeforeDeadline).isZero();
+			assertThat(firedCount.get()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("취소된 타이머는 실행하지 않는다")
+		void skipCancelledTimer() throws InterruptedException {
+			//given
+			TimerWheel.Timeout timeout = timerWheel.schedule(firedCount::incrementAndGet, 20);
+
+			//when
+			timeout.cancel();
+			Thread.sleep(100);
+			timerWheel.advance();
+
+			//then
+			assertThat(firedCount.get()).isZero();
+		}
+	}
+
+}
@@ -0,0 +1,83 @@
+package blog.syua.node.balancer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.node.TcpNode;
+
+@DisplayName("LeastOutstandingStrategy 테스트")
+class LeastOutstandingStrategyTest {
+
+	private LoadBalancingStrategy loadBalancingStrategy;
+	private List<TcpNode> nodes;
+
+	@BeforeEach
+	void beforeEach() {
+		loadBalancingStrategy = LoadBalancingStrategy.newInstance(StrategyType.LEAST_OUTSTANDING);
+		nodes = List.of(new TcpNode(InetAddress.getLoopbackAddress(), 30001),
+			new TcpNode(InetAddress.getLoopbackAddress(), 30002),
+			new TcpNode(InetAddress.getLoopbackAddress(), 30003));
+	}
+
+	@Nested
+	@DisplayName("Method: select")
+	class MethodSelect {
+		@Test
+		@DisplayName("처리 중인 요청이 가장 적은 노드를 선택한다")
+		void selectLeastLoadedNode() {
+			//given
+			nodes.get(0).startRequest();
+			nodes.get(0).startRequest();
+			nodes.get(2).startRequest();
+
+			//when
+			TcpNode selectedNode = loadBalancingStrategy.select(nodes);
+
+			//then
+			assertThat(selectedNode).isSameAs(nodes.get(1));
+		}
+
+		@Test
+		@DisplayName("처리 중인 요청 수가 같은 노드들 중에서 무작위로 선택한다")
+		void breakTiesRandomly() {
+			//given
+			nodes.get(0).startRequest();
+			Set<TcpNode> selectedNodes = new HashSet<>();
+
+			//when
+			for (int count = 0; count < 100; count++) {
+				selectedNodes.add(loadBalancingStrategy.select(nodes));
+			}
+
+			//then
+			assertThat(selectedNodes).containsExactlyInAnyOrder(nodes.get(1), nodes.get(2));
+		}
+
+		@Test
+		@DisplayName("요청이 끝나면 다시 선택 대상이 된다")
+		void selectAgainAfterFinishRequest() {
+			//given
+			nodes.get(1).startRequest();
+			nodes.get(2).startRequest();
+			nodes.get(0).startRequest();
+			nodes.get(0).startRequest();
+
+			//when
+			nodes.get(0).finishRequest();
+			nodes.get(0).finishRequest();
+
+			//then
+			assertThat(loadBalancingStrategy.select(nodes)).isSameAs(nodes.get(0));
+		}
+	}
+
+}
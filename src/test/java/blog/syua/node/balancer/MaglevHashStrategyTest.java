@@ -0,0 +1,96 @@
+package blog.syua.node.balancer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.UnknownHostException;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.node.TcpNode;
+
+@DisplayName("MaglevHashStrategy 테스트")
+class MaglevHashStrategyTest {
+
+	private static final int CLIENT_COUNT = 1000;
+
+	private LoadBalancingStrategy loadBalancingStrategy;
+	private List<TcpNode> nodes;
+
+	@BeforeEach
+	void beforeEach() throws UnknownHostException {
+		loadBalancingStrategy = LoadBalancingStrategy.newInstance(StrategyType.MAGLEV_HASH);
+		nodes = List.of(new TcpNode(InetAddress.getByName("10.0.0.1"), 30001),
+			new TcpNode(InetAddress.getByName("10.0.0.2"), 30001),
+			new TcpNode(InetAddress.getByName("10.0.0.3"), 30001));
+	}
+
+	@Nested
+	@DisplayName("Method: select")
+	class MethodSelect {
+		@Test
+		@DisplayName("같은 클라이언트는 항상 같은 노드를 선택한다")
+		void selectSameNodeForSameClient() throws UnknownHostException {
+			//given
+			InetSocketAddress clientAddress = getClientAddress(7);
+
+			//when
+			TcpNode selectedNode = loadBalancingStrategy.select(nodes, clientAddress);
+
+			//then
+			for (int count = 0; count < 100; count++) {
+				assertThat(loadBalancingStrategy.select(nodes, clientAddress)).isSameAs(selectedNode);
+			}
+		}
+
+		@Test
+		@DisplayName("클라이언트들을 모든 노드에 분산한다")
+		void spreadClientsOverNodes() throws UnknownHostException {
+			//given
+			Set<TcpNode> selectedNodes = new HashSet<>();
+
+			//when
+			for (int index = 0; index < CLIENT_COUNT; index++) {
+				selectedNodes.add(loadBalancingStrategy.select(nodes, getClientAddress(index)));
+			}
+
+			//then
+			assertThat(selectedNodes).containsExactlyInAnyOrderElementsOf(nodes);
+		}
+
+		@Test
+		@DisplayName("노드가 제거되어도 남은 노드의 클라이언트는 대부분 그대로 유지된다")
+		void keepMostClientsOnMembershipChange() throws UnknownHostException {
+			//given
+			List<TcpNode> remainNodes = List.of(nodes.get(1), nodes.get(2));
+			TcpNode[] beforeNodes = new TcpNode[CLIENT_COUNT];
+			for (int index = 0; index < CLIENT_COUNT; index++) {
+				beforeNodes[index] = loadBalancingStrategy.select(nodes, getClientAddress(index));
+			}
+			int movedCount = 0;
+
+			//when
+			for (int index = 0; index < CLIENT_COUNT; index++) {
+				TcpNode afterNode = loadBalancingStrategy.select(remainNodes, getClientAddress(index));
+				if (beforeNodes[index] != nodes.get(0) && beforeNodes[index] != afterNode) {
+					movedCount++;
+				}
+			}
+
+			//then
+			assertThat(movedCount).isLessThan(CLIENT_COUNT / 20);
+		}
+	}
+
+	private InetSocketAddress getClientAddress(int index) throws UnknownHostException {
+		return new InetSocketAddress(InetAddress.getByAddress(new byte[] {10, 1, (byte)(index >> 8), (byte)index}), 0);
+	}
+
+}
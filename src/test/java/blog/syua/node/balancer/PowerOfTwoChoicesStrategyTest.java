@@ -0,0 +1,92 @@
+package blog.syua.node.balancer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.node.TcpNode;
+
+@DisplayName("PowerOfTwoChoicesStrategy 테스트")
+class PowerOfTwoChoicesStrategyTest {
+
+	private LoadBalancingStrategy loadBalancingStrategy;
+	private List<TcpNode> nodes;
+
+	@BeforeEach
+	void beforeEach() {
+		loadBalancingStrategy = LoadBalancingStrategy.newInstance(StrategyType.POWER_OF_TWO_CHOICES);
+		nodes = List.of(new TcpNode(InetAddress.getLoopbackAddress(), 30001),
+			new TcpNode(InetAddress.getLoopbackAddress(), 30002));
+	}
+
+	@Nested
+	@DisplayName("Method: select")
+	class MethodSelect {
+		@Test
+		@DisplayName("응답 시간이 더 짧은 노드를 선택한다")
+		void selectFasterNode() {
+			//given
+			nodes.get(0).recordRtt(10_000_000);
+			nodes.get(1).recordRtt(1_000_000);
+
+			//when
+			TcpNode selectedNode = loadBalancingStrategy.select(nodes);
+
+			//then
+			assertThat(selectedNode).isSameAs(nodes.get(1));
+		}
+
+		@Test
+		@DisplayName("처리 중인 요청이 많으면 응답 시간이 짧아도 선택하지 않는다")
+		void avoidLoadedNode() {
+			//given
+			nodes.get(0).recordRtt(2_000_000);
+			nodes.get(1).recordRtt(1_000_000);
+			nodes.get(1).startRequest();
+			nodes.get(1).startRequest();
+
+			//when
+			TcpNode selectedNode = loadBalancingStrategy.select(nodes);
+
+			//then
+			assertThat(selectedNode).isSameAs(nodes.get(0));
+		}
+
+		@Test
+		@DisplayName("응답 시간이 측정되지 않은 노드를 먼저 선택한다")
+		void selectUnmeasuredNode() {
+			//given
+			nodes.get(0).recordRtt(1_000_000);
+
+			//when
+			TcpNode selectedNode = loadBalancingStrategy.select(nodes);
+
+			//then
+			assertThat(selectedNode).isSameAs(nodes.get(1));
+		}
+
+		@Test
+		@DisplayName("측정값이 없으면 노드들 중에서 무작위로 선택한다")
+		void selectRandomlyWithoutSamples() {
+			//given
+			Set<TcpNode> selectedNodes = new HashSet<>();
+
+			//when
+			for (int count = 0; count < 100; count++) {
+				selectedNodes.add(loadBalancingStrategy.select(nodes));
+			}
+
+			//then
+			assertThat(selectedNodes).containsExactlyInAnyOrder(nodes.get(0), nodes.get(1));
+		}
+	}
+
+}
@@ -0,0 +1,77 @@
+package blog.syua.node.balancer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.node.TcpNode;
+
+@DisplayName("RoundRobinStrategy 테스트")
+class RoundRobinStrategyTest {
+
+	private LoadBalancingStrategy loadBalancingStrategy;
+
+	@BeforeEach
+	void beforeEach() {
+		loadBalancingStrategy = LoadBalancingStrategy.newInstance(StrategyType.ROUND_ROBIN);
+	}
+
+	@Nested
+	@DisplayName("Method: select")
+	class MethodSelect {
+		@Test
+		@DisplayName("노드를 순서대로 돌아가며 선택한다")
+		void selectNodesInOrder() {
+			//given
+			List<TcpNode> nodes = List.of(new TcpNode(InetAddress.getLoopbackAddress(), 30001),
+				new TcpNode(InetAddress.getLoopbackAddress(), 30002),
+				new TcpNode(InetAddress.getLoopbackAddress(), 30003));
+
+			//when
+			//then
+			for (int round = 0; round < 2; round++) {
+				for (TcpNode node : nodes) {
+					assertThat(loadBalancingStrategy.select(nodes)).isSameAs(node);
+				}
+			}
+		}
+
+		@Test
+		@DisplayName("슬로우 스타트 중인 노드는 적게 선택한다")
+		void selectSlowStartNodeLess() {
+			//given
+			List<TcpNode> nodes = List.of(new TcpNode(InetAddress.getLoopbackAddress(), 30001),
+				new TcpNode(InetAddress.getLoopbackAddress(), 30002));
+			nodes.get(1).startSlowStart(60000);
+			int selectedCount = 0;
+
+			//when
+			for (int count = 0; count < 1000; count++) {
+				if (loadBalancingStrategy.select(nodes) == nodes.get(1)) {
+					selectedCount++;
+				}
+			}
+
+			//then
+			assertThat(selectedCount).isLessThan(200);
+		}
+
+		@Test
+		@DisplayName("선택할 노드가 없는 경우 IllegalStateException 예외를 발생시킨다")
+		void throwIllegalStateException() {
+			//given
+			//when
+			//then
+			assertThatThrownBy(() -> loadBalancingStrategy.select(List.of()))
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("No node to select");
+		}
+	}
+
+}
@@ -0,0 +1,87 @@
+package blog.syua.node.balancer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.node.TcpNode;
+
+@DisplayName("SmoothWeightedRoundRobinStrategy 테스트")
+class SmoothWeightedRoundRobinStrategyTest {
+
+	private LoadBalancingStrategy loadBalancingStrategy;
+	private TcpNode heavyNode;
+	private TcpNode lightNode1;
+	private TcpNode lightNode2;
+	private List<TcpNode> nodes;
+
+	@BeforeEach
+	void beforeEach() {
+		loadBalancingStrategy = LoadBalancingStrategy.newInstance(StrategyType.SMOOTH_WEIGHTED_ROUND_ROBIN);
+		heavyNode = new TcpNode(InetAddress.getLoopbackAddress(), 30001);
+		lightNode1 = new TcpNode(InetAddress.getLoopbackAddress(), 30002);
+		lightNode2 = new TcpNode(InetAddress.getLoopbackAddress(), 30003);
+		heavyNode.setWeight(5);
+		nodes = List.of(heavyNode, lightNode1, lightNode2);
+	}
+
+	@Nested
+	@DisplayName("Method: select")
+	class MethodSelect {
+		@Test
+		@DisplayName("가중치에 비례하되 무거운 노드에 연속으로 몰리지 않도록 선택한다")
+		void selectSmoothlyByWeight() {
+			//given
+			//when
+			List<TcpNode> selectedNodes = selectNodes(7);
+
+			//then
+			assertThat(selectedNodes).containsExactly(heavyNode, heavyNode, lightNode1, heavyNode, lightNode2,
+				heavyNode, heavyNode);
+		}
+
+		@Test
+		@DisplayName("가중치 변경이 다음 선택부터 반영된다")
+		void applyUpdatedWeight() {
+			//given
+			selectNodes(7);
+
+			//when
+			heavyNode.setWeight(1);
+			List<TcpNode> selectedNodes = selectNodes(3);
+
+			//then
+			assertThat(selectedNodes).containsExactlyInAnyOrder(heavyNode, lightNode1, lightNode2);
+		}
+
+		@Test
+		@DisplayName("수용량에 도달한 노드는 다른 노드에 여유가 있는 동안 선택하지 않는다")
+		void skipNodeOverCapacity() {
+			//given
+			heavyNode.setCapacity(1);
+			heavyNode.startRequest();
+
+			//when
+			List<TcpNode> selectedNodes = selectNodes(4);
+
+			//then
+			assertThat(selectedNodes).doesNotContain(heavyNode);
+		}
+	}
+
+	private List<TcpNode> selectNodes(int count) {
+		List<TcpNode> selectedNodes = new ArrayList<>();
+		for (int index = 0; index < count; index++) {
+			selectedNodes.add(loadBalancingStrategy.select(nodes));
+		}
+		return selectedNodes;
+	}
+
+}
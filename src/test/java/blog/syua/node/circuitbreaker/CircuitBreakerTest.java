@@ -0,0 +1,103 @@
+package blog.syua.node.circuitbreaker;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("CircuitBreaker 테스트")
+class CircuitBreakerTest {
+
+	private static final int FAILURE_THRESHOLD = 5;
+	private static final long OPEN_TIMEOUT = 5000;
+
+	private CircuitBreaker circuitBreaker;
+
+	@BeforeEach
+	void beforeEach() {
+		circuitBreaker = new CircuitBreaker();
+	}
+
+	@Nested
+	@DisplayName("Method: tryAcquirePermission")
+	class MethodTryAcquirePermission {
+		@Test
+		@DisplayName("연속으로 실패하면 열린 상태가 되어 요청을 거부한다")
+		void rejectWhenOpen() {
+			//given
+			for (int count = 0; count < FAILURE_THRESHOLD; count++) {
+				circuitBreaker.tryAcquirePermission();
+				circuitBreaker.onFailure();
+			}
+
+			//when
+			boolean isPermitted = circuitBreaker.tryAcquirePermission();
+
+			//then
+			assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+			assertThat(isPermitted).isFalse();
+			assertThat(circuitBreaker.isCallPermitted()).isFalse();
+		}
+
+		@Test
+		@DisplayName("열린 상태에서 시간이 지나면 시험 요청 하나만 허용한다")
+		void admitTrialCallWhenHalfOpen() throws InterruptedException {
+			//given
+			for (int count = 0; count < FAILURE_THRESHOLD; count++) {
+				circuitBreaker.onFailure();
+			}
+			Thread.sleep(OPEN_TIMEOUT + 100);
+
+			//when
+			boolean isFirstPermitted = circuitBreaker.tryAcquirePermission();
+			boolean isSecondPermitted = circuitBreaker.tryAcquirePermission();
+
+			//then
+			assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+			assertThat(isFirstPermitted).isTrue();
+			assertThat(isSecondPermitted).isFalse();
+		}
+
+		@Test
+		@DisplayName("시험 요청이 실패하면 다시 열린 상태가 되고, 충분히 성공하면 닫힌 상태가 된다")
+		void closeAfterTrialSuccesses() throws InterruptedException {
+			//given
+			for (int count = 0; count < FAILURE_THRESHOLD; count++) {
+				circuitBreaker.onFailure();
+			}
+			Thread.sleep(OPEN_TIMEOUT + 100);
+
+			//when
+			//then
+			for (int count = 0; count < 3; count++) {
+				assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+				circuitBreaker.onSuccess();
+			}
+			assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: onFailure")
+	class MethodOnFailure {
+		@Test
+		@DisplayName("중간에 성공하면 연속 실패 횟수가 초기화된다")
+		void resetOnSuccess() {
+			//given
+			for (int count = 0; count < FAILURE_THRESHOLD - 1; count++) {
+				circuitBreaker.onFailure();
+			}
+			circuitBreaker.onSuccess();
+
+			//when
+			boolean isOpened = circuitBreaker.onFailure();
+
+			//then
+			assertThat(isOpened).isFalse();
+			assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+		}
+	}
+
+}
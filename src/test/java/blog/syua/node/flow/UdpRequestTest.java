@@ -0,0 +1,87 @@
+package blog.syua.node.flow;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("UdpRequest 테스트")
+class UdpRequestTest {
+
+	private UdpRequest udpRequest;
+
+	@BeforeEach
+	void beforeEach() {
+		udpRequest = UdpRequest.newInstance();
+		udpRequest.addAttempt();
+		udpRequest.addAttempt();
+	}
+
+	@Nested
+	@DisplayName("Method: answer")
+	class MethodAnswer {
+		@Test
+		@DisplayName("첫 번째 응답만 클라이언트에게 전달한다")
+		void relayOnlyFirstReply() {
+			//when
+			boolean isFirstRelayed = udpRequest.answer(1000);
+			boolean isSecondRelayed = udpRequest.answer(2000);
+
+			//then
+			assertThat(isFirstRelayed).isTrue();
+			assertThat(isSecondRelayed).isFalse();
+			assertThat(udpRequest.isCompleted()).isTrue();
+		}
+
+		@Test
+		@DisplayName("응답이 완료된 요청은 더 이상 전송하지 않는다")
+		void rejectAttemptAfterAnswer() {
+			//when
+			udpRequest.answer(1000);
+
+			//then
+			assertThat(udpRequest.addAttempt()).isFalse();
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: fail")
+	class MethodFail {
+		@Test
+		@DisplayName("다른 시도가 남아 있으면 실패로 끝내지 않는다")
+		void waitForOtherAttempt() {
+			//when
+			boolean isFailed = udpRequest.fail();
+
+			//then
+			assertThat(isFailed).isFalse();
+			assertThat(udpRequest.isCompleted()).isFalse();
+		}
+
+		@Test
+		@DisplayName("모든 시도가 실패하면 실패로 끝낸다")
+		void failAfterAllAttempts() {
+			//when
+			udpRequest.fail();
+			boolean isFailed = udpRequest.fail();
+
+			//then
+			assertThat(isFailed).isTrue();
+			assertThat(udpRequest.isCompleted()).isTrue();
+		}
+
+		@Test
+		@DisplayName("다른 시도가 응답하면 실패를 전달하지 않는다")
+		void ignoreFailureAfterAnswer() {
+			//when
+			udpRequest.answer(1000);
+			boolean isFailed = udpRequest.fail();
+
+			//then
+			assertThat(isFailed).isFalse();
+		}
+	}
+
+}
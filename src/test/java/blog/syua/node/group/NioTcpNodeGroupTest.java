@@ -0,0 +1,266 @@
+package blog.syua.node.group;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.node.Protocol;
+import blog.syua.node.node.TcpNode;
+import blog.syua.utils.NodeMessageUtil;
+import blog.syua.utils.SocketReadUtils;
+
+@DisplayName("NIO TCP NodeGroup 테스트")
+class NioTcpNodeGroupTest {
+
+	private static int TEST_PORT = 20120;
+
+	private NioTcpNodeGroup nioTcpNodeGroup;
+	private Thread nodeThread;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		TEST_PORT += 2;
+		nioTcpNodeGroup = new NioTcpNodeGroup(TEST_PORT);
+	}
+
+	@AfterEach
+	void afterEach() {
+		if (nodeThread != null) {
+			nodeThread.interrupt();
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: startForward")
+	class MethodStartForward {
+		@Test
+		@DisplayName("등록된 TCP 노드로 포워딩을 수행한다")
+		void forwardToRegisteredTcpNode() throws IOException, InterruptedException {
+			//given
+			nodeThread = getNodeThread(TEST_PORT + 1);
+			nodeThread.start();
+			nioTcpNodeGroup.registerNode(new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1));
+
+			//when
+			nioTcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			assertThat(sendDataToNodeGroup()).isEqualTo("Hello");
+		}
+
+		@Test
+		@DisplayName("노드에 연결할 수 없는 경우 에러 메세지를 반환한다")
+		void returnErrorMessage() throws IOException, InterruptedException {
+			//given
+			nioTcpNodeGroup.registerNode(new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1));
+
+			//when
+			nioTcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			assertThat(sendDataToNodeGroup())
+				.isEqualTo(new String(NodeMessageUtil.getForwardErrorMessage(), StandardCharsets.UTF_8));
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: readNode")
+	class MethodReadNode {
+		@Test
+		@DisplayName("노드가 응답 없이 연결을 닫은 경우 에러 메세지를 반환하고 실패로 기록한다")
+		void returnErrorMessageOnEmptyResponse() throws IOException, InterruptedException {
+			//given
+			nodeThread = getClosingNodeThread(TEST_PORT + 1);
+			nodeThread.start();
+			TcpNode tcpNode = new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1);
+			nioTcpNodeGroup.registerNode(tcpNode);
+
+			//when
+			nioTcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			for (int count = 0; count < 5; count++) {
+				assertThat(sendDataToNodeGroup())
+					.isEqualTo(new String(NodeMessageUtil.getForwardErrorMessage(), StandardCharsets.UTF_8));
+			}
+			assertThat(tcpNode.isEjected()).isTrue();
+		}
+	}
+
+	@Nested
+	@DisplayName("Streaming Mode")
+	class StreamingMode {
+		@Test
+		@DisplayName("클라이언트가 출력을 닫을 때까지 받은 데이터를 그대로 노드에게 중계한다")
+		void relayUntilHalfClose() throws IOException, InterruptedException {
+			//given
+			nioTcpNodeGroup = new NioTcpNodeGroup(TEST_PORT + 100, true);
+			nodeThread = getEchoNodeThread(TEST_PORT + 101);
+			nodeThread.start();
+			nioTcpNodeGroup.registerNode(new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 101));
+			byte[] data = new byte[Protocol.TCP.getMaxReceiveSize() * 4];
+			Arrays.fill(data, (byte)7);
+
+			//when
+			nioTcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			try (Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(), TEST_PORT + 100)) {
+				Thread writeThread = new Thread(() -> {
+					try {
+						clientSocket.getOutputStream().write(data);
+						clientSocket.shutdownOutput();
+					} catch (IOException exception) {
+						throw new RuntimeException(exception);
+					}
+				});
+				writeThread.start();
+				assertThat(clientSocket.getInputStream().readAllBytes()).isEqualTo(data);
+			}
+		}
+
+		@Test
+		@DisplayName("수 MB 크기의 데이터도 순서대로 중계하고 클라이언트가 출력을 닫은 뒤에도 노드의 응답을 끝까지 전달한다")
+		void relayLargePayloadAfterHalfClose() throws IOException, InterruptedException {
+			//given
+			nioTcpNodeGroup = new NioTcpNodeGroup(TEST_PORT + 100, true);
+			nodeThread = getEchoNodeThread(TEST_PORT + 101);
+			nodeThread.start();
+			nioTcpNodeGroup.registerNode(new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 101));
+			byte[] data = new byte[8 * 1024 * 1024];
+			for (int index = 0; index < data.length; index++) {
+				data[index] = (byte)(index % 251);
+			}
+
+			//when
+			nioTcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			try (Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(), TEST_PORT + 100)) {
+				Thread writeThread = new Thread(() -> {
+					try {
+						clientSocket.getOutputStream().write(data);
+						clientSocket.shutdownOutput();
+					} catch (IOException exception) {
+						throw new RuntimeException(exception);
+					}
+				});
+				writeThread.start();
+				byte[] result = clientSocket.getInputStream().readAllBytes();
+				writeThread.join();
+				assertThat(clientSocket.isOutputShutdown()).isTrue();
+				assertThat(result).hasSize(data.length);
+				assertThat(Arrays.equals(result, data)).isTrue();
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: unRegisterNode")
+	class MethodUnRegisterNode {
+		@Test
+		@DisplayName("TCP 노드가 존재하지 않을 경우 포워딩을 시작할 수 없다")
+		void cannotStartForward() {
+			//given
+			TcpNode tcpNode = new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1);
+			nioTcpNodeGroup.registerNode(tcpNode);
+
+			//when
+			nioTcpNodeGroup.unRegisterNode(tcpNode);
+
+			//then
+			assertThatThrownBy(() -> nioTcpNodeGroup.startForwarding())
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Unable to start forwarding");
+		}
+
+		@Test
+		@DisplayName("TCP 노드가 존재하지 않는 경우 더이상 새로운 요청을 처리하지 않는다")
+		void doNotProcessNewRequest() throws InterruptedException {
+			//given
+			TcpNode tcpNode = new TcpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1);
+			nioTcpNodeGroup.registerNode(tcpNode);
+			nioTcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//when
+			nioTcpNodeGroup.unRegisterNode(tcpNode);
+			Thread.sleep(1000);
+
+			//then
+			assertThatThrownBy(NioTcpNodeGroupTest.this::sendDataToNodeGroup)
+				.isInstanceOf(IOException.class);
+		}
+	}
+
+	private String sendDataToNodeGroup() throws IOException {
+		try (Socket clientSocket = new Socket(InetAddress.getLoopbackAddress(), TEST_PORT)) {
+			OutputStream outputStream = clientSocket.getOutputStream();
+			outputStream.write("Client Data".getBytes(StandardCharsets.UTF_8));
+			outputStream.flush();
+			InputStream inputStream = clientSocket.getInputStream();
+			return new String(SocketReadUtils.readTcpAllBytes(inputStream), StandardCharsets.UTF_8);
+		}
+	}
+
+	private Thread getEchoNodeThread(int port) {
+		return new Thread(() -> {
+			try (ServerSocket nodeSocket = new ServerSocket(port);
+				 Socket socket = nodeSocket.accept()) {
+				socket.getInputStream().transferTo(socket.getOutputStream());
+				socket.shutdownOutput();
+			} catch (IOException exception) {
+				exception.printStackTrace();
+			}
+		});
+	}
+
+	private Thread getClosingNodeThread(int port) {
+		return new Thread(() -> {
+			try (ServerSocket nodeSocket = new ServerSocket(port)) {
+				while (!Thread.currentThread().isInterrupted()) {
+					try (Socket socket = nodeSocket.accept()) {
+						SocketReadUtils.readTcpAllBytes(socket.getInputStream());
+					}
+				}
+			} catch (IOException exception) {
+				exception.printStackTrace();
+			}
+		});
+	}
+
+	private Thread getNodeThread(int port) {
+		return new Thread(() -> {
+			try (ServerSocket nodeSocket = new ServerSocket(port)) {
+				while (!Thread.currentThread().isInterrupted()) {
+					try (Socket socket = nodeSocket.accept()) {
+						SocketReadUtils.readTcpAllBytes(socket.getInputStream());
+						socket.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+						socket.getOutputStream().flush();
+					}
+				}
+			} catch (IOException exception) {
+				exception.printStackTrace();
+			}
+		});
+	}
+
+}
@@ -0,0 +1,251 @@
+package blog.syua.node.group;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.DatagramPacket;
+import java.net.DatagramSocket;
+import java.net.InetAddress;
+import java.net.SocketTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.StrategyType;
+import blog.syua.node.node.Protocol;
+import blog.syua.node.node.UdpNode;
+
+@DisplayName("NIO UDP NodeGroup 테스트")
+class NioUdpNodeGroupTest {
+
+	private static int TEST_PORT = 20160;
+
+	private NioUdpNodeGroup nioUdpNodeGroup;
+	private Thread nodeThread;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		TEST_PORT += 2;
+		nioUdpNodeGroup = new NioUdpNodeGroup(TEST_PORT);
+	}
+
+	@AfterEach
+	void afterEach() {
+		if (nodeThread != null) {
+			nodeThread.interrupt();
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: startForward")
+	class MethodStartForward {
+		@Test
+		@DisplayName("등록된 UDP 노드로 포워딩을 수행한다")
+		void forwardToRegisteredUdpNode() throws IOException, InterruptedException {
+			//given
+			nodeThread = getEchoNodeThread(TEST_PORT + 1);
+			nodeThread.start();
+			nioUdpNodeGroup.registerNode(new UdpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1));
+
+			//when
+			nioUdpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+			String result = sendDataToNodeGroup();
+
+			//then
+			assertThat(result).isEqualTo("client data");
+		}
+
+		@Test
+		@DisplayName("한 번에 도착한 데이터그램이 배치 크기보다 많아도 모두 포워딩한다")
+		void forwardBurstLargerThanBatch() throws IOException, InterruptedException {
+			//given
+			nodeThread = getEchoNodeThread(TEST_PORT + 1);
+			nodeThread.start();
+			nioUdpNodeGroup.registerNode(new UdpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1));
+			nioUdpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+			List<String> requests = new ArrayList<>();
+			for (int index = 0; index < 100; index++) {
+				requests.add("datagram-" + index);
+			}
+
+			//when
+			List<String> results = new ArrayList<>();
+			try (DatagramSocket socket = new DatagramSocket()) {
+				socket.setSoTimeout(3000);
+				for (String request : requests) {
+					byte[] bytes = request.getBytes(StandardCharsets.UTF_8);
+					socket.send(new DatagramPacket(bytes, bytes.length, InetAddress.getLoopbackAddress(), TEST_PORT));
+				}
+				for (int index = 0; index < requests.size(); index++) {
+					DatagramPacket resultPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
+						Protocol.UDP.getMaxReceiveSize());
+					socket.receive(resultPacket);
+					results.add(new String(resultPacket.getData(), resultPacket.getOffset(),
+						resultPacket.getLength(), StandardCharsets.UTF_8));
+				}
+			}
+
+			//then
+			assertThat(results).containsExactlyInAnyOrderElementsOf(requests);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: setHedging")
+	class MethodSetHedging {
+		@Test
+		@DisplayName("헤징한 요청의 응답이 다른 노드에서 오더라도 원래 노드의 다음 응답을 그대로 중계한다")
+		void relayReplyAfterHedgedRequest() throws IOException, InterruptedException {
+			//given
+			AtomicInteger primaryPort = new AtomicInteger();
+			nodeThread = getHedgedNodeThread(TEST_PORT + 1, primaryPort);
+			nodeThread.start();
+			Thread hedgeNodeThread = getHedgedNodeThread(TEST_PORT + 101, primaryPort);
+			hedgeNodeThread.start();
+			nioUdpNodeGroup.setLoadBalancingStrategy(LoadBalancingStrategy.newInstance(StrategyType.MAGLEV_HASH));
+			nioUdpNodeGroup.setHedging(true);
+			nioUdpNodeGroup.registerNode(new UdpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1));
+			nioUdpNodeGroup.registerNode(new UdpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 101));
+
+			//when
+			nioUdpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			try (DatagramSocket socket = new DatagramSocket()) {
+				assertThat(sendDataToNodeGroup(socket, "lost")).isEqualTo("lost");
+				assertThat(sendDataToNodeGroup(socket, "second")).isEqualTo("second");
+			} finally {
+				hedgeNodeThread.interrupt();
+			}
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: unRegisterNode")
+	class MethodUnRegisterNode {
+		@Test
+		@DisplayName("UDP 노드가 존재하지 않을 경우 포워딩을 시작할 수 없다")
+		void cannotStartForwarding() {
+			//given
+			UdpNode udpNode = new UdpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1);
+			nioUdpNodeGroup.registerNode(udpNode);
+
+			//when
+			nioUdpNodeGroup.unRegisterNode(udpNode);
+
+			//then
+			assertThatThrownBy(() -> nioUdpNodeGroup.startForwarding())
+				.isInstanceOf(IllegalStateException.class)
+				.hasMessage("Unable to start forwarding");
+		}
+
+		@Test
+		@DisplayName("UDP 노드가 존재하지 않는 경우 더이상 새로운 요청을 처리하지 않는다")
+		void doNotProcessNewRequest() throws InterruptedException {
+			//given
+			nodeThread = getEchoNodeThread(TEST_PORT + 1);
+			nodeThread.start();
+			UdpNode udpNode = new UdpNode(InetAddress.getLoopbackAddress(), TEST_PORT + 1);
+			nioUdpNodeGroup.registerNode(udpNode);
+			nioUdpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//when
+			nioUdpNodeGroup.unRegisterNode(udpNode);
+
+			//then
+			assertThatThrownBy(NioUdpNodeGroupTest::sendDataToNodeGroup)
+				.isInstanceOf(SocketTimeoutException.class)
+				.hasMessage("Receive timed out");
+		}
+	}
+
+	private static Thread getEchoNodeThread(int port) {
+		return new Thread(() -> {
+			try (DatagramSocket nodeSocket = new DatagramSocket(port, InetAddress.getLoopbackAddress())) {
+				nodeSocket.setSoTimeout(500);
+				byte[] buffer = new byte[Protocol.UDP.getMaxReceiveSize()];
+				while (!Thread.currentThread().isInterrupted()) {
+					DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+					try {
+						nodeSocket.receive(packet);
+					} catch (SocketTimeoutException exception) {
+						continue;
+					}
+					nodeSocket.send(new DatagramPacket(packet.getData(), packet.getOffset(), packet.getLength(),
+						packet.getSocketAddress()));
+				}
+			} catch (IOException exception) {
+				throw new RuntimeException(exception);
+			}
+		});
+	}
+
+	/**
+	 * The node that receives the first datagram drops "lost" and echoes the rest, the other node only
+	 * echoes "lost".
+	 */
+	private static Thread getHedgedNodeThread(int port, AtomicInteger primaryPort) {
+		return new Thread(() -> {
+			try (DatagramSocket nodeSocket = new DatagramSocket(port, InetAddress.getLoopbackAddress())) {
+				nodeSocket.setSoTimeout(500);
+				byte[] buffer = new byte[Protocol.UDP.getMaxReceiveSize()];
+				while (!Thread.currentThread().isInterrupted()) {
+					DatagramPacket packet = new DatagramPacket(buffer, buffer.length);
+					try {
+						nodeSocket.receive(packet);
+					} catch (SocketTimeoutException exception) {
+						continue;
+					}
+					String data = new String(packet.getData(), packet.getOffset(), packet.getLength(),
+						StandardCharsets.UTF_8);
+					boolean isPrimary = primaryPort.compareAndSet(0, port) || primaryPort.get() == port;
+					if (isPrimary == data.equals("lost")) {
+						continue;
+					}
+					nodeSocket.send(new DatagramPacket(packet.getData(), packet.getOffset(), packet.getLength(),
+						packet.getSocketAddress()));
+				}
+			} catch (IOException exception) {
+				throw new RuntimeException(exception);
+			}
+		});
+	}
+
+	private static String sendDataToNodeGroup(DatagramSocket socket, String data) throws IOException {
+		byte[] bytes = data.getBytes(StandardCharsets.UTF_8);
+		socket.setSoTimeout(3000);
+		socket.send(new DatagramPacket(bytes, bytes.length, InetAddress.getLoopbackAddress(), TEST_PORT));
+		DatagramPacket resultPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
+			Protocol.UDP.getMaxReceiveSize());
+		socket.receive(resultPacket);
+		return new String(resultPacket.getData(), resultPacket.getOffset(), resultPacket.getLength(),
+			StandardCharsets.UTF_8);
+	}
+
+	private static String sendDataToNodeGroup() throws IOException {
+		byte[] data = "client data".getBytes(StandardCharsets.UTF_8);
+		DatagramPacket packet = new DatagramPacket(data, data.length, InetAddress.getLoopbackAddress(), TEST_PORT);
+		try (DatagramSocket socket = new DatagramSocket()) {
+			socket.setSoTimeout(3000);
+			socket.send(packet);
+			DatagramPacket resultPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
+				Protocol.UDP.getMaxReceiveSize());
+			socket.receive(resultPacket);
+			return new String(resultPacket.getData(), resultPacket.getOffset(), resultPacket.getLength(),
+				StandardCharsets.UTF_8);
+		}
+	}
+
+}
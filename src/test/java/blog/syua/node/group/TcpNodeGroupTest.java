@@ -5,17 +5,25 @@ import static org.assertj.core.api.Assertions.*;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
+import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.Socket;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import blog.syua.node.balancer.LoadBalancingStrategy;
+import blog.syua.node.balancer.StrategyType;
+import blog.syua.node.node.Node;
 import blog.syua.node.node.TcpNode;
+import blog.syua.node.retry.RetryBudget;
+import blog.syua.utils.NodeMessageUtil;
 import blog.syua.utils.SocketReadUtils;
 
 @DisplayName("TCP NodeGroup 테스트")
@@ -40,7 +48,7 @@ class TcpNodeGroupTest {
 			//given
 			TcpNode mockedUdpNode = new TcpNode(InetAddress.getLocalHost(), TEST_PORT) {
 				@Override
-				public void forwardPacket(Socket clientSocket) {
+				public void forwardPacket(Socket clientSocket, byte[] forwardData) {
 					try {
 						OutputStream outputStream = clientSocket.getOutputStream();
 						outputStream.write("Hello".getBytes(StandardCharsets.UTF_8));
@@ -62,6 +70,105 @@ class TcpNodeGroupTest {
 			//then
 			assertThat(sendDataToNodeGroup()).isEqualTo("Hello");
 		}
+
+		@Test
+		@DisplayName("여러 리스너로 같은 포트를 공유해도 포워딩을 수행한다")
+		void forwardWithMultipleListeners() throws IOException, InterruptedException {
+			//given
+			int shardedPort = TEST_PORT + 500;
+			TcpNodeGroup shardedNodeGroup = new TcpNodeGroup(shardedPort, 2);
+			TcpNode mockedTcpNode = new TcpNode(InetAddress.getLocalHost(), shardedPort) {
+				@Override
+				public void forwardPacket(Socket clientSocket, byte[] forwardData) {
+					try (clientSocket) {
+						clientSocket.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+						clientSocket.shutdownOutput();
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			};
+			shardedNodeGroup.registerNode(mockedTcpNode);
+
+			//when
+			shardedNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			for (int count = 0; count < 10; count++) {
+				assertThat(sendDataToNodeGroup(shardedPort)).isEqualTo("Hello");
+			}
+			shardedNodeGroup.unRegisterNode(mockedTcpNode);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: forwardPacket")
+	class MethodForwardPacket {
+		@Test
+		@DisplayName("노드에 연결할 수 없는 경우 다른 노드로 재시도한다")
+		void retryOnAnotherNode() throws IOException, InterruptedException {
+			//given
+			AtomicInteger attemptCount = new AtomicInteger();
+			tcpNodeManager.setLoadBalancingStrategy(getFirstNodeStrategy());
+			tcpNodeManager.registerNode(getDeadTcpNode(TEST_PORT + 1, attemptCount));
+			tcpNodeManager.registerNode(getHelloTcpNode(TEST_PORT + 2));
+
+			//when
+			tcpNodeManager.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			assertThat(sendDataToNodeGroup()).isEqualTo("Hello");
+			assertThat(attemptCount.get()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("재시도 예산이 소진된 경우 다른 노드로 재시도하지 않는다")
+		void doNotRetryWhenBudgetExhausted() throws IOException, InterruptedException {
+			//given
+			int port = TEST_PORT + 600;
+			TcpNodeGroup tcpNodeGroup = new TcpNodeGroup(port, 1, 1, new RetryBudget(0, 0));
+			AtomicInteger attemptCount = new AtomicInteger();
+			AtomicInteger retryCount = new AtomicInteger();
+			TcpNode deadTcpNode = getDeadTcpNode(port + 1, attemptCount);
+			tcpNodeGroup.setLoadBalancingStrategy(getFirstNodeStrategy());
+			tcpNodeGroup.registerNode(deadTcpNode);
+			tcpNodeGroup.registerNode(getDeadTcpNode(port + 2, retryCount));
+
+			//when
+			tcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			assertThat(sendDataToNodeGroup(port)).isEqualTo(getErrorMessage());
+			assertThat(attemptCount.get()).isEqualTo(1);
+			assertThat(retryCount.get()).isZero();
+			tcpNodeGroup.unRegisterNode(deadTcpNode);
+		}
+
+		@Test
+		@DisplayName("최대 재시도 횟수만큼만 다른 노드로 재시도한다")
+		void stopRetryAtMaxRetryCount() throws IOException, InterruptedException {
+			//given
+			int port = TEST_PORT + 700;
+			TcpNodeGroup tcpNodeGroup = new TcpNodeGroup(port, 1, 1, new RetryBudget(20, 100));
+			AtomicInteger attemptCount = new AtomicInteger();
+			TcpNode deadTcpNode = getDeadTcpNode(port + 1, attemptCount);
+			tcpNodeGroup.setLoadBalancingStrategy(getFirstNodeStrategy());
+			tcpNodeGroup.registerNode(deadTcpNode);
+			tcpNodeGroup.registerNode(getDeadTcpNode(port + 2, attemptCount));
+			tcpNodeGroup.registerNode(getDeadTcpNode(port + 3, attemptCount));
+
+			//when
+			tcpNodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//then
+			assertThat(sendDataToNodeGroup(port)).isEqualTo(getErrorMessage());
+			assertThat(attemptCount.get()).isEqualTo(2);
+			tcpNodeGroup.unRegisterNode(deadTcpNode);
+		}
 	}
 
 	@Nested
@@ -101,8 +208,77 @@ class TcpNodeGroupTest {
 		}
 	}
 
+	@Nested
+	@DisplayName("Method: getShedCount")
+	class MethodGetShedCount {
+		@Test
+		@DisplayName("대기열이 여유로우면 처리한 요청을 버린 요청으로 집계하지 않는다")
+		void doNotCountServedRequest() throws IOException, InterruptedException {
+			//given
+			NodeGroup nodeGroup = tcpNodeManager;
+			nodeGroup.registerNode(getHelloTcpNode(TEST_PORT + 1));
+			nodeGroup.startForwarding();
+			Thread.sleep(1000);
+
+			//when
+			for (int count = 0; count < 3; count++) {
+				assertThat(sendDataToNodeGroup()).isEqualTo("Hello");
+			}
+
+			//then
+			assertThat(nodeGroup.getShedCount()).isZero();
+			assertThat(nodeGroup.getQueueDepth()).isZero();
+		}
+	}
+
+	private TcpNode getDeadTcpNode(int port, AtomicInteger attemptCount) throws IOException {
+		return new TcpNode(InetAddress.getLocalHost(), port) {
+			@Override
+			public void forwardPacket(Socket clientSocket, byte[] forwardData) throws ConnectException {
+				attemptCount.incrementAndGet();
+				throw new ConnectException("Connection refused");
+			}
+		};
+	}
+
+	private TcpNode getHelloTcpNode(int port) throws IOException {
+		return new TcpNode(InetAddress.getLocalHost(), port) {
+			@Override
+			public void forwardPacket(Socket clientSocket, byte[] forwardData) {
+				try (clientSocket) {
+					clientSocket.getOutputStream().write("Hello".getBytes(StandardCharsets.UTF_8));
+					clientSocket.shutdownOutput();
+				} catch (IOException e) {
+					throw new RuntimeException(e);
+				}
+			}
+		};
+	}
+
+	private LoadBalancingStrategy getFirstNodeStrategy() {
+		return new LoadBalancingStrategy() {
+			@Override
+			public StrategyType getType() {
+				return StrategyType.ROUND_ROBIN;
+			}
+
+			@Override
+			public <T extends Node> T select(List<T> nodes) {
+				return nodes.get(0);
+			}
+		};
+	}
+
+	private String getErrorMessage() {
+		return new String(NodeMessageUtil.getForwardErrorMessage(), StandardCharsets.UTF_8);
+	}
+
 	private String sendDataToNodeGroup() throws IOException {
-		Socket clientSocket = new Socket(InetAddress.getLocalHost(), TEST_PORT);
+		return sendDataToNodeGroup(TEST_PORT);
+	}
+
+	private String sendDataToNodeGroup(int port) throws IOException {
+		Socket clientSocket = new Socket(InetAddress.getLocalHost(), port);
 		OutputStream outputStream = clientSocket.getOutputStream();
 		outputStream.write("Client Data".getBytes(StandardCharsets.UTF_8));
 		outputStream.flush();
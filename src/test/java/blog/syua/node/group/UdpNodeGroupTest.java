@@ -6,10 +6,8 @@ import java.io.IOException;
 import java.net.DatagramPacket;
 import java.net.DatagramSocket;
 import java.net.InetAddress;
-import java.net.SocketException;
 import java.net.SocketTimeoutException;
 import java.nio.charset.StandardCharsets;
-import java.util.Arrays;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -27,7 +25,7 @@ class UdpNodeGroupTest {
 	private UdpNodeGroup udpNodeManager;
 
 	@BeforeEach
-	void beforeEach() throws SocketException {
+	void beforeEach() throws IOException {
 		TEST_PORT += 1;
 		udpNodeManager = new UdpNodeGroup(TEST_PORT);
 	}
@@ -61,6 +59,35 @@ class UdpNodeGroupTest {
 			//then
 			assertThat(result).isEqualTo("Hello");
 		}
+
+		@Test
+		@DisplayName("여러 리스너로 같은 포트를 공유해도 포워딩을 수행한다")
+		void forwardWithMultipleListeners() throws IOException {
+			//given
+			int shardedPort = TEST_PORT + 500;
+			UdpNodeGroup shardedNodeGroup = new UdpNodeGroup(shardedPort, 2);
+			UdpNode mockedUdpNode = new UdpNode(InetAddress.getLocalHost(), shardedPort) {
+				@Override
+				public void forwardPacket(DatagramSocket loadBalancerSocket, DatagramPacket clientPacket) {
+					try {
+						loadBalancerSocket.send(new DatagramPacket(clientPacket.getData(), clientPacket.getOffset(),
+							clientPacket.getLength(), clientPacket.getSocketAddress()));
+					} catch (IOException e) {
+						throw new RuntimeException(e);
+					}
+				}
+			};
+			shardedNodeGroup.registerNode(mockedUdpNode);
+
+			//when
+			shardedNodeGroup.startForwarding();
+
+			//then
+			for (int count = 0; count < 10; count++) {
+				assertThat(sendDataToNodeManager(shardedPort)).isEqualTo("client data");
+			}
+			shardedNodeGroup.unRegisterNode(mockedUdpNode);
+		}
 	}
 
 	@Nested
@@ -102,8 +129,12 @@ class UdpNodeGroupTest {
 	}
 
 	private static String sendDataToNodeManager() throws IOException {
+		return sendDataToNodeManager(TEST_PORT);
+	}
+
+	private static String sendDataToNodeManager(int port) throws IOException {
 		byte[] data = "client data".getBytes(StandardCharsets.UTF_8);
-		DatagramPacket packet = new DatagramPacket(data, data.length, InetAddress.getLocalHost(), TEST_PORT);
+		DatagramPacket packet = new DatagramPacket(data, data.length, InetAddress.getLocalHost(), port);
 		DatagramSocket socket = new DatagramSocket();
 		socket.setSoTimeout(3000);
 		socket.send(packet);
@@ -112,15 +143,8 @@ class UdpNodeGroupTest {
 			Protocol.UDP.getMaxReceiveSize());
 		socket.receive(resultPacket);
 		socket.close();
-		return new String(removeTrailingZeros(resultPacket.getData()), StandardCharsets.UTF_8);
-	}
-
-	private static byte[] removeTrailingZeros(byte[] data) {
-		int endIndex = data.length - 1;
-		while (endIndex >= 0 && data[endIndex] == 0) {
-			endIndex--;
-		}
-		return Arrays.copyOf(data, endIndex + 1);
+		return new String(resultPacket.getData(), resultPacket.getOffset(), resultPacket.getLength(),
+			StandardCharsets.UTF_8);
 	}
 
 }
\ No newline at end of file
@@ -5,7 +5,7 @@ import static org.assertj.core.api.Assertions.*;
 import java.io.IOException;
 import java.lang.reflect.Field;
 import java.net.InetAddress;
-import java.util.Queue;
+import java.util.List;
 import java.util.concurrent.ConcurrentHashMap;
 
 import org.assertj.core.api.Assertions;
@@ -15,13 +15,20 @@ import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 
+import blog.syua.node.balancer.StrategyType;
 import blog.syua.node.group.ForwardInfo;
+import blog.syua.node.group.ForwardingEngine;
+import blog.syua.node.group.NioTcpNodeGroup;
+import blog.syua.node.group.NioUdpNodeGroup;
 import blog.syua.node.group.NodeGroup;
 import blog.syua.node.group.TcpNodeGroup;
 import blog.syua.node.group.UdpNodeGroup;
+import blog.syua.node.node.Node;
 import blog.syua.node.node.Protocol;
 import blog.syua.node.node.TcpNode;
 import blog.syua.node.node.UdpNode;
+import blog.syua.node.ratelimit.RateLimit;
+import blog.syua.utils.ListenSocketUtils;
 
 @SuppressWarnings("unchecked")
 @DisplayName("NodeGroup Manager 테스트")
@@ -85,11 +92,148 @@ class NodeGroupManagerImplTest {
 			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(tcpNode));
 			softAssertions.assertThat(tcpNodeGroup).isInstanceOf(TcpNodeGroup.class);
 
-			Queue<TcpNode> tcpNodes = (Queue<TcpNode>)getFieldObject(tcpNodeGroup.getClass(), "tcpNodes", tcpNodeGroup);
+			List<TcpNode> tcpNodes = (List<TcpNode>)getFieldObject(tcpNodeGroup.getClass(), "tcpNodes", tcpNodeGroup);
 			softAssertions.assertThat(tcpNodes.size()).isEqualTo(2);
 			softAssertions.assertThat(tcpNodes.contains(tcpNode)).isTrue();
 			softAssertions.assertAll();
 		}
+
+		@Test
+		@DisplayName("기존 노드 그룹에 추가된 노드는 설정된 기간 동안 슬로우 스타트를 적용받는다")
+		void startSlowStartInExistingNodeGroup() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager = new NodeGroupManagerImpl(60000, 0, 0, 1,
+				ForwardingEngine.BLOCKING, ForwardingEngine.BLOCKING, StrategyType.ROUND_ROBIN, 1, 1);
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40060);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40060);
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40060));
+			List<TcpNode> tcpNodes = (List<TcpNode>)getFieldObject(tcpNodeGroup.getClass(), "tcpNodes", tcpNodeGroup);
+			softAssertions.assertThat(tcpNodes.get(0).getSlowStartFactor()).isEqualTo(1.0);
+			softAssertions.assertThat(tcpNodes.get(1).getSlowStartFactor()).isLessThan(1.0);
+			softAssertions.assertAll();
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40060);
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40060);
+		}
+
+		@Test
+		@DisplayName("새로 생성한 노드 그룹에 기본 클라이언트 요청 제한을 적용한다")
+		void applyDefaultRateLimitToNewNodeGroup() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager = new NodeGroupManagerImpl(0, 10, 5, 1,
+				ForwardingEngine.BLOCKING, ForwardingEngine.BLOCKING, StrategyType.ROUND_ROBIN, 1, 1);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.UDP, InetAddress.getLocalHost(), 40070);
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup udpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.UDP, 40070));
+			assertThat(getFieldObject(udpNodeGroup.getClass(), "clientRateLimiter", udpNodeGroup)).isNotNull();
+			nodeGroupManager.unRegisterNode(Protocol.UDP, InetAddress.getLocalHost(), 40070);
+		}
+
+		@Test
+		@DisplayName("설정된 TCP 포워딩 엔진으로 새 노드 그룹을 생성한다")
+		void createNodeGroupWithConfiguredTcpEngine() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager = new NodeGroupManagerImpl(0, 0, 0, 1,
+				ForwardingEngine.NIO, ForwardingEngine.BLOCKING, StrategyType.ROUND_ROBIN, 1, 1);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40100);
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			assertThat(nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40100))).isInstanceOf(NioTcpNodeGroup.class);
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40100);
+		}
+
+		@Test
+		@DisplayName("설정된 UDP 포워딩 엔진으로 새 노드 그룹을 생성한다")
+		void createNodeGroupWithConfiguredUdpEngine() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager = new NodeGroupManagerImpl(0, 0, 0, 1,
+				ForwardingEngine.BLOCKING, ForwardingEngine.NIO, StrategyType.ROUND_ROBIN, 1, 1);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.UDP, InetAddress.getLocalHost(), 40110);
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			assertThat(nodeGroups.get(ForwardInfo.of(Protocol.UDP, 40110))).isInstanceOf(NioUdpNodeGroup.class);
+			nodeGroupManager.unRegisterNode(Protocol.UDP, InetAddress.getLocalHost(), 40110);
+		}
+
+		@Test
+		@DisplayName("설정된 기본 부하 분산 전략으로 새 노드 그룹을 생성한다")
+		void createNodeGroupWithConfiguredStrategy() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager = new NodeGroupManagerImpl(0, 0, 0, 1,
+				ForwardingEngine.BLOCKING, ForwardingEngine.BLOCKING, StrategyType.LEAST_OUTSTANDING, 1, 1);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40120);
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40120));
+			assertThat(tcpNodeGroup.getLoadBalancingStrategy().getType()).isEqualTo(StrategyType.LEAST_OUTSTANDING);
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40120);
+		}
+
+		@Test
+		@DisplayName("설정된 리스너 수로 새 노드 그룹을 생성한다")
+		void createNodeGroupWithConfiguredListenerCount() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager = new NodeGroupManagerImpl(0, 0, 0, 1,
+				ForwardingEngine.BLOCKING, ForwardingEngine.BLOCKING, StrategyType.ROUND_ROBIN, 2, 1);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40130);
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40130));
+			List<?> listeners = (List<?>)getFieldObject(tcpNodeGroup.getClass(), "listeners", tcpNodeGroup);
+			assertThat(listeners).hasSize(ListenSocketUtils.getListenerCount(2));
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40130);
+		}
+
+		@Test
+		@DisplayName("동시 요청 한도를 지정한 노드 그룹에만 한도를 적용한다")
+		void applyConcurrencyLimitOnlyWhenRequested() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40080);
+
+			//when
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40090,
+				RegisterOption.builder().concurrencyLimit(20).build());
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup defaultNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40080));
+			NodeGroup limitedNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40090));
+			List<TcpNode> defaultNodes = (List<TcpNode>)getFieldObject(defaultNodeGroup.getClass(), "tcpNodes",
+				defaultNodeGroup);
+			List<TcpNode> limitedNodes = (List<TcpNode>)getFieldObject(limitedNodeGroup.getClass(), "tcpNodes",
+				limitedNodeGroup);
+			assertThat(getFieldObject(Node.class, "concurrencyLimiter", defaultNodes.get(0))).isNull();
+			assertThat(getFieldObject(Node.class, "concurrencyLimiter", limitedNodes.get(0))).isNotNull();
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40080);
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40090);
+		}
 	}
 
 	@Nested
@@ -127,6 +271,83 @@ class NodeGroupManagerImplTest {
 		}
 	}
 
+	@Nested
+	@DisplayName("Method: updateNode")
+	class MethodUpdateNode {
+		@Test
+		@DisplayName("등록된 노드의 가중치를 재등록 없이 변경한다")
+		void updateRegisteredNodeWeight() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40040);
+
+			//when
+			nodeGroupManager.updateNode(Protocol.TCP, InetAddress.getLocalHost(), 40040,
+				RegisterOption.builder().weight(3).build());
+
+			//then
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40040));
+			List<TcpNode> tcpNodes = (List<TcpNode>)getFieldObject(tcpNodeGroup.getClass(), "tcpNodes", tcpNodeGroup);
+			assertThat(tcpNodes.get(0).getWeight()).isEqualTo(3);
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40040);
+		}
+
+		@Test
+		@DisplayName("같은 요청 제한으로 갱신하면 기존 요청 제한기를 그대로 유지한다")
+		void keepRateLimiterWhenRateLimitUnchanged() throws IOException, ReflectiveOperationException {
+			//given
+			RegisterOption registerOption = RegisterOption.builder().rateLimit(10).rateLimitBurst(20).build();
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40140, registerOption);
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40140));
+			Object rateLimiter = getFieldObject(tcpNodeGroup.getClass(), "clientRateLimiter", tcpNodeGroup);
+
+			//when
+			nodeGroupManager.updateNode(Protocol.TCP, InetAddress.getLocalHost(), 40140, registerOption);
+
+			//then
+			assertThat(getFieldObject(tcpNodeGroup.getClass(), "clientRateLimiter", tcpNodeGroup))
+				.isSameAs(rateLimiter);
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40140);
+		}
+
+		@Test
+		@DisplayName("다른 요청 제한으로 갱신하면 요청 제한기를 새로 만든다")
+		void replaceRateLimiterWhenRateLimitChanged() throws IOException, ReflectiveOperationException {
+			//given
+			nodeGroupManager.registerNode(Protocol.TCP, InetAddress.getLocalHost(), 40150,
+				RegisterOption.builder().rateLimit(10).build());
+			ConcurrentHashMap<ForwardInfo, NodeGroup> nodeGroups = (ConcurrentHashMap<ForwardInfo, NodeGroup>)
+				getFieldObject(nodeGroupManager.getClass(), "nodeGroups", nodeGroupManager);
+			NodeGroup tcpNodeGroup = nodeGroups.get(ForwardInfo.of(Protocol.TCP, 40150));
+			Object rateLimiter = getFieldObject(tcpNodeGroup.getClass(), "clientRateLimiter", tcpNodeGroup);
+
+			//when
+			nodeGroupManager.updateNode(Protocol.TCP, InetAddress.getLocalHost(), 40150,
+				RegisterOption.builder().rateLimit(20).build());
+
+			//then
+			assertThat(getFieldObject(tcpNodeGroup.getClass(), "clientRateLimiter", tcpNodeGroup))
+				.isNotSameAs(rateLimiter);
+			assertThat(tcpNodeGroup.getRateLimit()).isEqualTo(RateLimit.of(20, 0));
+			nodeGroupManager.unRegisterNode(Protocol.TCP, InetAddress.getLocalHost(), 40150);
+		}
+
+		@Test
+		@DisplayName("존재하지 않는 노드인 경우 IllegalArgumentException 예외를 발생시킨다")
+		void throwIllegalArgumentException() {
+			//given
+			//when
+			//then
+			Assertions.assertThatThrownBy(() -> nodeGroupManager.updateNode(Protocol.TCP, InetAddress.getLocalHost(),
+					40050, RegisterOption.defaultOption()))
+				.isInstanceOf(IllegalArgumentException.class)
+				.hasMessage("Node that does not exist");
+		}
+	}
+
 	private Object getFieldObject(Class<?> clazz, String fieldName, Object object) throws
 		ReflectiveOperationException {
 		Field field = clazz.getDeclaredField(fieldName);
@@ -0,0 +1,150 @@
+package blog.syua.node.limit;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ConcurrencyLimiter 테스트")
+class ConcurrencyLimiterTest {
+
+	private static final long RTT = 1_000_000;
+	private static final int INITIAL_LIMIT = 20;
+
+	private ConcurrencyLimiter concurrencyLimiter;
+
+	@BeforeEach
+	void beforeEach() {
+		concurrencyLimiter = new ConcurrencyLimiter(INITIAL_LIMIT);
+	}
+
+	@Nested
+	@DisplayName("Constructor")
+	class Constructor {
+		@Test
+		@DisplayName("범위를 벗어난 초기 한도는 예외를 던진다")
+		void throwExceptionOnInvalidLimit() {
+			assertThatThrownBy(() -> new ConcurrencyLimiter(0))
+				.isInstanceOf(IllegalArgumentException.class);
+			assertThatThrownBy(() -> new ConcurrencyLimiter(1001))
+				.isInstanceOf(IllegalArgumentException.class);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: tryAcquire")
+	class MethodTryAcquire {
+		@Test
+		@DisplayName("동시에 요청해도 한도 이상의 슬롯을 내주지 않는다")
+		void notExceedLimitConcurrently() throws InterruptedException {
+			//given
+			int threadCount = INITIAL_LIMIT * 4;
+			ExecutorService executorService = Executors.newFixedThreadPool(threadCount);
+			CountDownLatch startLatch = new CountDownLatch(1);
+			AtomicInteger acquiredCount = new AtomicInteger();
+
+			//when
+			for (int count = 0; count < threadCount; count++) {
+				executorService.execute(() -> {
+					try {
+						startLatch.await();
+					} catch (InterruptedException exception) {
+						Thread.currentThread().interrupt();
+						return;
+					}
+					if (concurrencyLimiter.tryAcquire()) {
+						acquiredCount.incrementAndGet();
+					}
+				});
+			}
+			startLatch.countDown();
+			executorService.shutdown();
+			executorService.awaitTermination(5, TimeUnit.SECONDS);
+
+			//then
+			assertThat(acquiredCount.get()).isEqualTo(INITIAL_LIMIT);
+			assertThat(concurrencyLimiter.getInFlightCount()).isEqualTo(INITIAL_LIMIT);
+		}
+
+		@Test
+		@DisplayName("한도에 도달하면 요청을 거부한다")
+		void rejectOverLimit() {
+			//given
+			int limit = concurrencyLimiter.getLimit();
+			for (int count = 0; count < limit; count++) {
+				assertThat(concurrencyLimiter.tryAcquire()).isTrue();
+			}
+
+			//when
+			boolean isAcquired = concurrencyLimiter.tryAcquire();
+
+			//then
+			assertThat(isAcquired).isFalse();
+			assertThat(concurrencyLimiter.isLimitReached()).isTrue();
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: onSample")
+	class MethodOnSample {
+		@Test
+		@DisplayName("지연 시간이 안정적이면 한도를 늘린다")
+		void increaseOnStableRtt() {
+			//given
+			int limit = concurrencyLimiter.getLimit();
+			for (int count = 0; count < limit; count++) {
+				concurrencyLimiter.tryAcquire();
+			}
+
+			//when
+			for (int count = 0; count < limit * 3; count++) {
+				concurrencyLimiter.onSample(RTT);
+			}
+
+			//then
+			assertThat(concurrencyLimiter.getLimit()).isGreaterThan(limit);
+		}
+
+		@Test
+		@DisplayName("지연 시간이 늘어나면 한도를 줄인다")
+		void decreaseOnRisingRtt() {
+			//given
+			int limit = concurrencyLimiter.getLimit();
+			concurrencyLimiter.onSample(RTT);
+
+			//when
+			concurrencyLimiter.onSample(RTT * 10);
+
+			//then
+			assertThat(concurrencyLimiter.getLimit()).isLessThan(limit);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: onDropped")
+	class MethodOnDropped {
+		@Test
+		@DisplayName("실패하면 슬롯을 반환하고 한도를 줄인다")
+		void decreaseOnFailure() {
+			//given
+			int limit = concurrencyLimiter.getLimit();
+			concurrencyLimiter.tryAcquire();
+
+			//when
+			concurrencyLimiter.onDropped();
+
+			//then
+			assertThat(concurrencyLimiter.getInFlightCount()).isZero();
+			assertThat(concurrencyLimiter.getLimit()).isLessThan(limit);
+		}
+	}
+
+}
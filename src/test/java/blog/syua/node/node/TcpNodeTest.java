@@ -9,11 +9,13 @@ import java.io.IOException;
 import java.io.InputStream;
 import java.io.OutputStream;
 import java.lang.reflect.Field;
+import java.net.ConnectException;
 import java.net.InetAddress;
 import java.net.ServerSocket;
 import java.net.Socket;
 import java.nio.charset.StandardCharsets;
 import java.util.Objects;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import org.assertj.core.api.SoftAssertions;
 import org.junit.jupiter.api.BeforeEach;
@@ -89,6 +91,44 @@ class TcpNodeTest {
             byte[] result = clientSocketOutputStream.toByteArray();
             assertThat(result).containsExactly(NodeMessageUtil.getForwardErrorMessage());
         }
+
+        @Test
+        @DisplayName("노드에 연결할 수 없는 경우 클라이언트에 응답하지 않고 ConnectException 예외를 발생시킨다")
+        void throwConnectExceptionWhenNodeDead() throws IOException {
+            //given
+            TcpNode deadTcpNode = new TcpNode(InetAddress.getLoopbackAddress(), FORWARD_PORT + 100);
+
+            //when
+            //then
+            assertThatThrownBy(() -> deadTcpNode.forwardPacket(clientSocket, clientSocketData))
+                .isInstanceOf(ConnectException.class);
+            assertThat(clientSocketOutputStream.toByteArray()).isEmpty();
+            verify(clientSocket, never()).close();
+        }
+
+        @Test
+        @DisplayName("재사용한 연결에서 응답을 읽지 못한 경우 요청을 다시 보내지 않는다")
+        void doNotResendAfterReadFailure() throws IOException, InterruptedException {
+            //given
+            AtomicInteger requestCount = new AtomicInteger();
+            Thread forwardNodeThread = getCloseOnSecondRequestNodeThread(requestCount);
+            forwardNodeThread.start();
+            TcpNode forwardTcpNode = new TcpNode(InetAddress.getLoopbackAddress(), FORWARD_PORT);
+            Thread.sleep(1000);
+            forwardTcpNode.forwardPacket(clientSocket, clientSocketData);
+            clientSocketOutputStream.reset();
+
+            //when
+            forwardTcpNode.forwardPacket(clientSocket, clientSocketData);
+            Thread.sleep(500);
+
+            //then
+            byte[] result = clientSocketOutputStream.toByteArray();
+            assertThat(result).containsExactly(NodeMessageUtil.getForwardErrorMessage());
+            assertThat(requestCount.get()).isEqualTo(2);
+            forwardTcpNode.close();
+            forwardNodeThread.interrupt();
+        }
     }
 
     @Nested
@@ -183,6 +223,35 @@ class TcpNodeTest {
         });
     }
 
+    private Thread getCloseOnSecondRequestNodeThread(AtomicInteger requestCount) {
+        return new Thread(() -> {
+            try (ServerSocket nodeSocket = new ServerSocket(FORWARD_PORT)) {
+                while (!Thread.currentThread().isInterrupted()) {
+                    Socket clientSocket = nodeSocket.accept();
+                    new Thread(() -> replyUntilSecondRequest(clientSocket, requestCount)).start();
+                }
+            } catch (IOException exception) {
+                throw new RuntimeException(exception);
+            }
+        });
+    }
+
+    private void replyUntilSecondRequest(Socket clientSocket, AtomicInteger requestCount) {
+        try (clientSocket) {
+            InputStream inputStream = clientSocket.getInputStream();
+            OutputStream outputStream = clientSocket.getOutputStream();
+            while (SocketReadUtils.readTcpAllBytes(inputStream).length > 0) {
+                if (requestCount.incrementAndGet() == 2) {
+                    return;
+                }
+                outputStream.write("Hello".getBytes(StandardCharsets.UTF_8));
+                outputStream.flush();
+            }
+        } catch (IOException exception) {
+            throw new RuntimeException(exception);
+        }
+    }
+
     private Thread getHealthCheckNodeThread(boolean isCorrect) {
         return new Thread(() -> {
             try {
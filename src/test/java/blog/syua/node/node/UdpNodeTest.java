@@ -17,6 +17,11 @@ import java.net.DatagramSocket;
 import java.net.InetAddress;
 import java.net.SocketException;
 import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
@@ -60,14 +65,140 @@ class UdpNodeTest {
             }, clientPacket);
 
             //then
-            assertThat(new String(resultPacket[0].getData(), StandardCharsets.UTF_8).replace("\u0000", ""))
-                    .isEqualTo("Hello");
+            waitForResult(resultPacket);
+            assertThat(getPacketData(resultPacket[0])).isEqualTo("Hello");
+            forwardNodeThread.interrupt();
+        }
+
+        @Test
+        @DisplayName("0으로 끝나는 패킷도 길이와 내용을 그대로 유지해 포워딩한다")
+        void forwardPacketEndingWithZeroBytes() throws SocketException, InterruptedException {
+            //given
+            Thread forwardNodeThread = getEchoNodeThread();
+            forwardNodeThread.start();
+            UdpNode udpNode = new UdpNode(InetAddress.getLoopbackAddress(), FORWARD_PORT);
+            byte[] clientData = {1, 0, 2, 0, 0, 0};
+            DatagramPacket clientPacket = new DatagramPacket(clientData, clientData.length,
+                    InetAddress.getLoopbackAddress(), FORWARD_PORT + 13);
+            final DatagramPacket[] resultPacket = new DatagramPacket[1];
+            Thread.sleep(1000);
+
+            //when
+            udpNode.forwardPacket(new DatagramSocket(FORWARD_PORT + 20) {
+                @Override
+                public void send(DatagramPacket packet) {
+                    resultPacket[0] = packet;
+                }
+            }, clientPacket);
+
+            //then
+            waitForResult(resultPacket);
+            softAssertions.assertThat(resultPacket[0].getLength()).isEqualTo(clientData.length);
+            softAssertions.assertThat(Arrays.copyOfRange(resultPacket[0].getData(), resultPacket[0].getOffset(),
+                    resultPacket[0].getOffset() + resultPacket[0].getLength())).isEqualTo(clientData);
+            softAssertions.assertAll();
+            udpNode.close();
+            forwardNodeThread.interrupt();
+        }
+
+        @Test
+        @DisplayName("같은 클라이언트의 패킷은 노드와 연결된 같은 소켓으로 포워딩한다")
+        void reuseFlowSocket() throws IOException, InterruptedException {
+            //given
+            Set<Integer> nodeSourcePorts = ConcurrentHashMap.newKeySet();
+            Thread forwardNodeThread = getForwardNodeThread(nodeSourcePorts);
+            forwardNodeThread.start();
+            UdpNode udpNode = new UdpNode(InetAddress.getLoopbackAddress(), FORWARD_PORT);
+            byte[] clientData = "client data".getBytes(StandardCharsets.UTF_8);
+            DatagramPacket clientPacket = new DatagramPacket(clientData, clientData.length,
+                    InetAddress.getLoopbackAddress(), FORWARD_PORT + 12);
+            final DatagramPacket[] resultPacket = new DatagramPacket[1];
+            Thread.sleep(1000);
+
+            //when
+            DatagramSocket loadBalancerSocket = new DatagramSocket(FORWARD_PORT + 20) {
+                @Override
+                public void send(DatagramPacket packet) {
+                    resultPacket[0] = packet;
+                }
+            };
+            for (int count = 0; count < 3; count++) {
+                udpNode.forwardPacket(loadBalancerSocket, clientPacket);
+            }
+            waitForResult(resultPacket);
+            Thread.sleep(500);
+
+            //then
+            assertThat(nodeSourcePorts).hasSize(1);
+            udpNode.close();
+            forwardNodeThread.interrupt();
+        }
+
+        @Test
+        @DisplayName("응답 하나가 유실되어도 이후 요청은 실패로 처리하지 않는다")
+        void doNotFailAfterLostReply() throws SocketException, InterruptedException {
+            //given
+            Thread forwardNodeThread = getDroppingEchoNodeThread();
+            forwardNodeThread.start();
+            UdpNode udpNode = new UdpNode(InetAddress.getLoopbackAddress(), FORWARD_PORT);
+            List<String> results = new CopyOnWriteArrayList<>();
+            DatagramSocket loadBalancerSocket = new DatagramSocket(FORWARD_PORT + 20) {
+                @Override
+                public void send(DatagramPacket packet) {
+                    results.add(getPacketData(packet));
+                }
+            };
+            Thread.sleep(1000);
+
+            //when
+            for (String data : List.of("lost", "second")) {
+                byte[] clientData = data.getBytes(StandardCharsets.UTF_8);
+                udpNode.forwardPacket(loadBalancerSocket, new DatagramPacket(clientData, clientData.length,
+                        InetAddress.getLoopbackAddress(), FORWARD_PORT + 14));
+                Thread.sleep(100);
+            }
+            Thread.sleep(udpNode.timeout + 1000);
+
+            //then
+            softAssertions.assertThat(results).containsExactly("second");
+            softAssertions.assertThat(udpNode.isEjected()).isFalse();
+            softAssertions.assertAll();
+            udpNode.close();
+            forwardNodeThread.interrupt();
+        }
+
+        @Test
+        @DisplayName("닫힌 노드는 포워딩하지 않고 에러 메세지를 반환한다")
+        void returnErrorMessageAfterClose() throws SocketException, InterruptedException {
+            //given
+            Thread forwardNodeThread = getEchoNodeThread();
+            forwardNodeThread.start();
+            UdpNode udpNode = new UdpNode(InetAddress.getLoopbackAddress(), FORWARD_PORT);
+            byte[] clientData = "client data".getBytes(StandardCharsets.UTF_8);
+            DatagramPacket clientPacket = new DatagramPacket(clientData, clientData.length,
+                    InetAddress.getLoopbackAddress(), FORWARD_PORT + 15);
+            final DatagramPacket[] resultPacket = new DatagramPacket[1];
+            Thread.sleep(1000);
+
+            //when
+            udpNode.close();
+            udpNode.forwardPacket(new DatagramSocket(FORWARD_PORT + 20) {
+                @Override
+                public void send(DatagramPacket packet) {
+                    resultPacket[0] = packet;
+                }
+            }, clientPacket);
+
+            //then
+            waitForResult(resultPacket);
+            assertThat(getPacketData(resultPacket[0]))
+                    .isEqualTo(new String(NodeMessageUtil.getForwardErrorMessage(), StandardCharsets.UTF_8));
             forwardNodeThread.interrupt();
         }
 
         @Test
         @DisplayName("노드에게 받은 데이터를 포워딩할 수 없는 경우 에러 메세지를 반환한다")
-        void returnErrorMessage() throws IOException {
+        void returnErrorMessage() throws IOException, InterruptedException {
             //given
             UdpNode deadUdpNode = new UdpNode(InetAddress.getLocalHost(), FORWARD_PORT);
             byte[] clientData = "client data".getBytes(StandardCharsets.UTF_8);
@@ -84,7 +215,8 @@ class UdpNodeTest {
             }, clientPacket);
 
             //then
-            assertThat(new String(resultPacket[0].getData(), StandardCharsets.UTF_8).replace("\u0000", ""))
+            waitForResult(resultPacket);
+            assertThat(getPacketData(resultPacket[0]))
                     .isEqualTo(new String(NodeMessageUtil.getForwardErrorMessage(), StandardCharsets.UTF_8));
         }
     }
@@ -150,13 +282,28 @@ class UdpNodeTest {
         }
     }
 
+    private void waitForResult(DatagramPacket[] resultPacket) throws InterruptedException {
+        for (int count = 0; count < 70 && resultPacket[0] == null; count++) {
+            Thread.sleep(100);
+        }
+    }
+
+    private String getPacketData(DatagramPacket packet) {
+        return new String(packet.getData(), packet.getOffset(), packet.getLength(), StandardCharsets.UTF_8);
+    }
+
     private Thread getForwardNodeThread() {
+        return getForwardNodeThread(ConcurrentHashMap.newKeySet());
+    }
+
+    private Thread getForwardNodeThread(Set<Integer> nodeSourcePorts) {
         return new Thread(() -> {
             try (DatagramSocket nodeServerSocket = new DatagramSocket(FORWARD_PORT)) {
                 DatagramPacket clientPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
                     Protocol.UDP.getMaxReceiveSize());
                 while (true) {
                     nodeServerSocket.receive(clientPacket);
+                    nodeSourcePorts.add(clientPacket.getPort());
                     byte[] returnData = "Hello".getBytes(StandardCharsets.UTF_8);
                     nodeServerSocket.send(
                             new DatagramPacket(returnData, returnData.length, clientPacket.getAddress(), clientPacket.getPort()));
@@ -169,6 +316,43 @@ class UdpNodeTest {
         });
     }
 
+    private Thread getEchoNodeThread() {
+        return new Thread(() -> {
+            try (DatagramSocket nodeServerSocket = new DatagramSocket(FORWARD_PORT)) {
+                DatagramPacket clientPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
+                    Protocol.UDP.getMaxReceiveSize());
+                while (true) {
+                    nodeServerSocket.receive(clientPacket);
+                    nodeServerSocket.send(new DatagramPacket(clientPacket.getData(), clientPacket.getOffset(),
+                            clientPacket.getLength(), clientPacket.getSocketAddress()));
+                }
+            } catch (Exception e) {
+                if (!(e instanceof SocketException)) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
+    private Thread getDroppingEchoNodeThread() {
+        return new Thread(() -> {
+            try (DatagramSocket nodeServerSocket = new DatagramSocket(FORWARD_PORT)) {
+                DatagramPacket clientPacket = new DatagramPacket(new byte[Protocol.UDP.getMaxReceiveSize()],
+                    Protocol.UDP.getMaxReceiveSize());
+                nodeServerSocket.receive(clientPacket);
+                while (true) {
+                    nodeServerSocket.receive(clientPacket);
+                    nodeServerSocket.send(new DatagramPacket(clientPacket.getData(), clientPacket.getOffset(),
+                            clientPacket.getLength(), clientPacket.getSocketAddress()));
+                }
+            } catch (Exception e) {
+                if (!(e instanceof SocketException)) {
+                    e.printStackTrace();
+                }
+            }
+        });
+    }
+
     private Thread getHealthCheckNodeThread(boolean isCorrect) {
         return new Thread(() -> {
             try (DatagramSocket serverSocket = new DatagramSocket(HEALTH_CHECK_PORT)) {
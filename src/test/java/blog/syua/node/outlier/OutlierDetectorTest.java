@@ -0,0 +1,91 @@
+package blog.syua.node.outlier;
+
+import static org.assertj.core.api.Assertions.*;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("OutlierDetector 테스트")
+class OutlierDetectorTest {
+
+	private OutlierDetector outlierDetector;
+
+	@BeforeEach
+	void beforeEach() {
+		outlierDetector = new OutlierDetector();
+	}
+
+	@Nested
+	@DisplayName("Method: recordFailure")
+	class MethodRecordFailure {
+		@Test
+		@DisplayName("연속으로 실패하면 노드를 제외한다")
+		void ejectAfterConsecutiveFailures() {
+			//given
+			for (int count = 0; count < 4; count++) {
+				outlierDetector.recordFailure();
+			}
+			assertThat(outlierDetector.isEjected()).isFalse();
+
+			//when
+			long ejectionTime = outlierDetector.recordFailure();
+
+			//then
+			assertThat(ejectionTime).isPositive();
+			assertThat(outlierDetector.isEjected()).isTrue();
+		}
+
+		@Test
+		@DisplayName("중간에 성공하면 연속 실패 횟수가 초기화된다")
+		void resetConsecutiveFailuresOnSuccess() {
+			//given
+			for (int count = 0; count < 4; count++) {
+				outlierDetector.recordFailure();
+			}
+
+			//when
+			outlierDetector.recordSuccess();
+			outlierDetector.recordFailure();
+
+			//then
+			assertThat(outlierDetector.isEjected()).isFalse();
+		}
+
+		@Test
+		@DisplayName("실패율이 높으면 노드를 제외한다")
+		void ejectOnFailureRate() {
+			//given
+			for (int count = 0; count < 10; count++) {
+				outlierDetector.recordSuccess();
+				outlierDetector.recordFailure();
+			}
+
+			//when
+			//then
+			assertThat(outlierDetector.isEjected()).isTrue();
+		}
+
+		@Test
+		@DisplayName("다시 제외될 때마다 제외 시간이 두 배로 늘어난다")
+		void doubleEjectionTime() throws InterruptedException {
+			//given
+			long firstEjectionTime = 0;
+			for (int count = 0; count < 5; count++) {
+				firstEjectionTime = outlierDetector.recordFailure();
+			}
+			Thread.sleep(firstEjectionTime + 100);
+
+			//when
+			long secondEjectionTime = 0;
+			for (int count = 0; count < 5; count++) {
+				secondEjectionTime = outlierDetector.recordFailure();
+			}
+
+			//then
+			assertThat(secondEjectionTime).isEqualTo(firstEjectionTime * 2);
+		}
+	}
+
+}
@@ -0,0 +1,109 @@
+package blog.syua.node.pool;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.io.IOException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.ServerSocket;
+import java.net.Socket;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BackendConnectionPool 테스트")
+class BackendConnectionPoolTest {
+
+	private static int TEST_PORT = 40100;
+
+	private ServerSocket nodeSocket;
+	private List<Socket> acceptedSockets;
+	private BackendConnectionPool connectionPool;
+
+	@BeforeEach
+	void beforeEach() throws IOException {
+		TEST_PORT += 1;
+		nodeSocket = new ServerSocket(TEST_PORT);
+		acceptedSockets = new ArrayList<>();
+		new Thread(() -> {
+			try {
+				while (!nodeSocket.isClosed()) {
+					acceptedSockets.add(nodeSocket.accept());
+				}
+			} catch (IOException ignored) {
+			}
+		}).start();
+		connectionPool = new BackendConnectionPool(new InetSocketAddress(InetAddress.getLoopbackAddress(), TEST_PORT),
+			new ConnectionPoolConfig(0, 1, 60000, 30000, 5000, 1000));
+	}
+
+	@AfterEach
+	void afterEach() throws IOException {
+		connectionPool.close();
+		nodeSocket.close();
+	}
+
+	@Nested
+	@DisplayName("Method: borrow")
+	class MethodBorrow {
+		@Test
+		@DisplayName("반환된 연결이 유효한 경우 이를 재사용한다")
+		void reuseReleasedConnection() throws IOException {
+			//given
+			PooledConnection connection = connectionPool.borrow();
+			connectionPool.release(connection, true);
+
+			//when
+			PooledConnection reusedConnection = connectionPool.borrow();
+
+			//then
+			assertThat(reusedConnection).isSameAs(connection);
+			assertThat(reusedConnection.isReused()).isTrue();
+		}
+
+		@Test
+		@DisplayName("노드가 닫은 연결은 재사용하지 않는다")
+		void doNotReuseClosedConnection() throws IOException, InterruptedException {
+			//given
+			PooledConnection connection = connectionPool.borrow();
+			connectionPool.release(connection, true);
+			Thread.sleep(500);
+			for (Socket acceptedSocket : acceptedSockets) {
+				acceptedSocket.close();
+			}
+			Thread.sleep(500);
+
+			//when
+			PooledConnection newConnection = connectionPool.borrow();
+
+			//then
+			assertThat(newConnection).isNotSameAs(connection);
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: release")
+	class MethodRelease {
+		@Test
+		@DisplayName("최대 유휴 연결 수를 넘는 연결은 닫는다")
+		void closeConnectionOverMaxIdle() throws IOException {
+			//given
+			PooledConnection firstConnection = connectionPool.borrow();
+			PooledConnection secondConnection = connectionPool.borrow();
+
+			//when
+			connectionPool.release(firstConnection, true);
+			connectionPool.release(secondConnection, true);
+
+			//then
+			assertThat(connectionPool.getIdleCount()).isEqualTo(1);
+			assertThat(secondConnection.getChannel().isOpen()).isFalse();
+		}
+	}
+
+}
@@ -0,0 +1,82 @@
+package blog.syua.node.ratelimit;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.net.InetAddress;
+import java.net.UnknownHostException;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("ClientRateLimiter 테스트")
+class ClientRateLimiterTest {
+
+	@Nested
+	@DisplayName("Method: tryAcquire")
+	class MethodTryAcquire {
+		@Test
+		@DisplayName("버스트를 넘는 요청은 거부한다")
+		void rejectOverBurst() throws UnknownHostException {
+			//given
+			ClientRateLimiter clientRateLimiter = ClientRateLimiter.newInstance(RateLimit.of(1, 3));
+			InetAddress clientAddress = InetAddress.getByName("10.0.0.1");
+			for (int count = 0; count < 3; count++) {
+				assertThat(clientRateLimiter.tryAcquire(clientAddress)).isTrue();
+			}
+
+			//when
+			boolean isAcquired = clientRateLimiter.tryAcquire(clientAddress);
+
+			//then
+			assertThat(isAcquired).isFalse();
+			assertThat(clientRateLimiter.getRejectedCount()).isEqualTo(1);
+		}
+
+		@Test
+		@DisplayName("클라이언트마다 따로 제한한다")
+		void limitPerClient() throws UnknownHostException {
+			//given
+			ClientRateLimiter clientRateLimiter = ClientRateLimiter.newInstance(RateLimit.of(1, 1));
+			clientRateLimiter.tryAcquire(InetAddress.getByName("10.0.0.1"));
+
+			//when
+			boolean isAcquired = clientRateLimiter.tryAcquire(InetAddress.getByName("10.0.0.2"));
+
+			//then
+			assertThat(isAcquired).isTrue();
+		}
+
+		@Test
+		@DisplayName("시간이 지나면 토큰을 다시 채운다")
+		void refillTokens() throws UnknownHostException, InterruptedException {
+			//given
+			ClientRateLimiter clientRateLimiter = ClientRateLimiter.newInstance(RateLimit.of(10, 1));
+			InetAddress clientAddress = InetAddress.getByName("10.0.0.1");
+			clientRateLimiter.tryAcquire(clientAddress);
+
+			//when
+			Thread.sleep(200);
+
+			//then
+			assertThat(clientRateLimiter.tryAcquire(clientAddress)).isTrue();
+		}
+
+		@Test
+		@DisplayName("추적하는 클라이언트 수는 최대치를 넘지 않는다")
+		void boundClientCount() throws UnknownHostException {
+			//given
+			ClientRateLimiter clientRateLimiter = ClientRateLimiter.newInstance(RateLimit.of(1, 1));
+
+			//when
+			for (int index = 0; index < 70000; index++) {
+				clientRateLimiter.tryAcquire(InetAddress.getByAddress(
+					new byte[] {10, (byte)(index >> 16), (byte)(index >> 8), (byte)index}));
+			}
+
+			//then
+			assertThat(clientRateLimiter.size()).isLessThanOrEqualTo(65536);
+		}
+	}
+
+}
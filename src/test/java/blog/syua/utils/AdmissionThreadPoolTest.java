@@ -0,0 +1,80 @@
+package blog.syua.utils;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("AdmissionThreadPool 테스트")
+class AdmissionThreadPoolTest {
+
+	private AdmissionThreadPool threadPool;
+
+	@AfterEach
+	void afterEach() {
+		threadPool.shutdownNow();
+	}
+
+	@Nested
+	@DisplayName("Method: execute")
+	class MethodExecute {
+		@Test
+		@DisplayName("대기열이 가득 차면 작업을 즉시 버린다")
+		void shedWhenQueueIsFull() throws InterruptedException {
+			//given
+			threadPool = new AdmissionThreadPool(1, 1, 10000);
+			CountDownLatch blockLatch = new CountDownLatch(1);
+			AtomicInteger shedCount = new AtomicInteger();
+			threadPool.execute(() -> await(blockLatch), shedCount::incrementAndGet);
+			threadPool.execute(() -> {
+			}, shedCount::incrementAndGet);
+
+			//when
+			threadPool.execute(() -> {
+			}, shedCount::incrementAndGet);
+
+			//then
+			assertThat(shedCount.get()).isEqualTo(1);
+			assertThat(threadPool.getShedCount()).isEqualTo(1);
+			assertThat(threadPool.getQueueDepth()).isEqualTo(1);
+			blockLatch.countDown();
+		}
+
+		@Test
+		@DisplayName("기한을 넘겨 대기한 작업은 실행하지 않고 버린다")
+		void shedStaleTask() throws InterruptedException {
+			//given
+			threadPool = new AdmissionThreadPool(1, 10, 100);
+			CountDownLatch blockLatch = new CountDownLatch(1);
+			CountDownLatch shedLatch = new CountDownLatch(1);
+			AtomicInteger runCount = new AtomicInteger();
+			threadPool.execute(() -> await(blockLatch), () -> {
+			});
+			threadPool.execute(runCount::incrementAndGet, shedLatch::countDown);
+
+			//when
+			Thread.sleep(300);
+			blockLatch.countDown();
+
+			//then
+			assertThat(shedLatch.await(1, TimeUnit.SECONDS)).isTrue();
+			assertThat(runCount.get()).isZero();
+			assertThat(threadPool.getShedCount()).isEqualTo(1);
+		}
+	}
+
+	private void await(CountDownLatch latch) {
+		try {
+			latch.await();
+		} catch (InterruptedException exception) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+}
@@ -0,0 +1,88 @@
+package blog.syua.utils.buffer;
+
+import static org.assertj.core.api.Assertions.*;
+
+import java.nio.ByteBuffer;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+@DisplayName("BufferPool 테스트")
+class BufferPoolTest {
+
+	@Nested
+	@DisplayName("Method: acquire")
+	class MethodAcquire {
+		@Test
+		@DisplayName("요청한 크기를 담을 수 있는 크기 등급의 버퍼를 반환한다")
+		void returnBufferOfSizeClass() {
+			//given
+			//when
+			PooledBuffer pooledBuffer = BufferPool.heap().acquire(5000);
+
+			//then
+			assertThat(pooledBuffer.getBuffer().capacity()).isEqualTo(16384);
+			assertThat(pooledBuffer.getBuffer().limit()).isEqualTo(5000);
+			pooledBuffer.release();
+		}
+
+		@Test
+		@DisplayName("반환된 버퍼를 같은 스레드에서 재사용한다")
+		void reuseReleasedBuffer() {
+			//given
+			PooledBuffer pooledBuffer = BufferPool.direct().acquire(4096);
+			ByteBuffer buffer = pooledBuffer.getBuffer();
+			buffer.put((byte)1);
+			pooledBuffer.release();
+
+			//when
+			PooledBuffer reusedBuffer = BufferPool.direct().acquire(100);
+
+			//then
+			assertThat(reusedBuffer.getBuffer()).isSameAs(buffer);
+			assertThat(reusedBuffer.getBuffer().position()).isZero();
+			assertThat(reusedBuffer.getBuffer().isDirect()).isTrue();
+			reusedBuffer.release();
+		}
+
+		@Test
+		@DisplayName("가장 큰 크기 등급보다 큰 요청은 풀링하지 않는다")
+		void doNotPoolLargeBuffer() {
+			//given
+			PooledBuffer pooledBuffer = BufferPool.heap().acquire(100000);
+			ByteBuffer buffer = pooledBuffer.getBuffer();
+			pooledBuffer.release();
+
+			//when
+			PooledBuffer newBuffer = BufferPool.heap().acquire(100000);
+
+			//then
+			assertThat(newBuffer.getBuffer()).isNotSameAs(buffer);
+			newBuffer.release();
+		}
+	}
+
+	@Nested
+	@DisplayName("Method: release")
+	class MethodRelease {
+		@Test
+		@DisplayName("두 번 반환해도 버퍼는 한 번만 풀에 들어간다")
+		void releaseOnlyOnce() {
+			//given
+			PooledBuffer pooledBuffer = BufferPool.heap().acquire(4096);
+			pooledBuffer.release();
+			pooledBuffer.release();
+
+			//when
+			PooledBuffer firstBuffer = BufferPool.heap().acquire(4096);
+			PooledBuffer secondBuffer = BufferPool.heap().acquire(4096);
+
+			//then
+			assertThat(firstBuffer.getBuffer()).isNotSameAs(secondBuffer.getBuffer());
+			firstBuffer.release();
+			secondBuffer.release();
+		}
+	}
+
+}